@@ -0,0 +1,81 @@
+#!/usr/bin/env bash
+# Mede o tempo até a primeira requisição atendida com o jar padrão (ddl-auto=update, springdoc) e com o jar do
+# perfil maven production (aot + cds, schema validado); as duas versões usam um h2 em memória no modo mysql.
+#
+#   scripts/startup-benchmark.sh [execuções]
+#
+# O resultado de cada execução é gravado em target/startup-benchmark/results.csv.
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+MVN=${MVN:-mvn}
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+OUT="$ROOT/target/startup-benchmark"
+URL="http://localhost:$PORT/api/v1/users/availability?username=startup@email.com"
+DB_ARGS=(
+  "--server.port=$PORT"
+  "--spring.datasource.url=jdbc:h2:mem:startup;MODE=MySQL;DATABASE_TO_LOWER=TRUE"
+  "--spring.datasource.driver-class-name=org.h2.Driver"
+  "--spring.datasource.username=sa"
+  "--spring.datasource.password="
+  "--spring.r2dbc.url=r2dbc:h2:mem:///startup"
+  "--spring.r2dbc.username=sa"
+  "--spring.r2dbc.password="
+  "--api.parking-tickets.journal.directory=$OUT/journal"
+  "--api.security.jwt.secret=${JWT_SECRET:-$(head -c 48 /dev/urandom | base64)}"
+)
+
+cd "$ROOT"
+mkdir -p "$OUT"
+
+echo "Building baseline jar..."
+"$MVN" -q -DskipTests package
+JAR=$(ls target/*.jar | grep -v '\.original$' | head -1)
+cp "$JAR" "$OUT/baseline.jar"
+
+echo "Building production jar (AOT + CDS)..."
+"$MVN" -q -Pproduction -DskipTests package
+
+now_ms() { date +%s%3N; }
+
+# inicia a aplicação, espera a primeira resposta 200 e imprime o tempo decorrido em ms
+measure() {
+  rm -rf "$OUT/journal"
+  local start pid elapsed
+  start=$(now_ms)
+  "$@" "${DB_ARGS[@]}" > "$OUT/last-run.log" 2>&1 &
+  pid=$!
+  until curl -sf -o /dev/null "$URL"; do
+    if ! kill -0 "$pid" 2> /dev/null; then
+      echo "Application exited before serving a request, see $OUT/last-run.log" >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  elapsed=$(( $(now_ms) - start ))
+  kill "$pid" && wait "$pid" 2> /dev/null || true
+  echo "$elapsed"
+}
+
+echo "mode,run,time_to_first_request_ms" > "$OUT/results.csv"
+for mode in baseline production; do
+  for run in $(seq 1 "$RUNS"); do
+    if [ "$mode" = baseline ]; then
+      # sem o schema explícito o ddl-auto=update confunde a tabela users com INFORMATION_SCHEMA.USERS do h2
+      ms=$(measure java -jar "$OUT/baseline.jar" --spring.jpa.properties.hibernate.default_schema=public)
+    else
+      # o classpath precisa ser o mesmo da execução de treino que gerou o arquivo cds
+      ms=$(measure env -C target/application java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+        -jar "$(basename "$JAR")" --spring.profiles.active=prod --spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect)
+    fi
+    echo "$mode,$run,$ms" >> "$OUT/results.csv"
+    echo "$mode run $run: ${ms} ms"
+  done
+done
+
+# mediana por modo
+for mode in baseline production; do
+  grep "^$mode," "$OUT/results.csv" | cut -d, -f3 | sort -n | awk -v mode="$mode" \
+    '{ v[NR] = $1 } END { m = (NR % 2) ? v[(NR + 1) / 2] : (v[NR / 2] + v[NR / 2 + 1]) / 2; printf "%s median: %d ms\n", mode, m }'
+done
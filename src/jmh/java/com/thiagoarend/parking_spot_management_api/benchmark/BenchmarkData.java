@@ -0,0 +1,38 @@
+package com.thiagoarend.parking_spot_management_api.benchmark;
+
+import com.thiagoarend.parking_spot_management_api.entity.User;
+import com.thiagoarend.parking_spot_management_api.web.dto.UserResponseDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.mapper.UserMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// dados de entrada compartilhados pelos benchmarks
+final class BenchmarkData {
+    // hash bcrypt de "123456", o mesmo usado nos scripts sql dos testes
+    static final String ENCODED_PASSWORD = "$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu";
+
+    private BenchmarkData() {
+    }
+
+    static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id + "@email.com");
+        user.setPassword(ENCODED_PASSWORD);
+        user.setRole(id % 10 == 0 ? User.Role.ROLE_ADMIN : User.Role.ROLE_CLIENT);
+        return user;
+    }
+
+    static List<User> users(int size) {
+        List<User> users = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            users.add(user(id));
+        }
+        return users;
+    }
+
+    static List<UserResponseDto> dtos(int size) {
+        return UserMapper.toListDto(users(size));
+    }
+}
@@ -0,0 +1,50 @@
+package com.thiagoarend.parking_spot_management_api.benchmark;
+
+import com.thiagoarend.parking_spot_management_api.web.dto.UserCreateDto;
+import com.thiagoarend.parking_spot_management_api.web.exception.ErrorMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ErrorMessageBenchmark {
+
+    private MockHttpServletRequest request;
+    private BindingResult bindingResult;
+
+    @Setup
+    public void setup() {
+        request = new MockHttpServletRequest("POST", "/api/v1/users");
+        bindingResult = new BeanPropertyBindingResult(new UserCreateDto("", "1"), "userCreateDto");
+        bindingResult.rejectValue("username", "NotBlank", "must not be blank");
+        bindingResult.rejectValue("password", "Size", "size must be between 6 and 6");
+    }
+
+    @Benchmark
+    public ErrorMessage withMessage() {
+        return new ErrorMessage(request, HttpStatus.NOT_FOUND, "User with id '1' was not found.");
+    }
+
+    @Benchmark
+    public ErrorMessage withFieldErrors() {
+        return new ErrorMessage(request, HttpStatus.UNPROCESSABLE_ENTITY, "Invalid field", bindingResult);
+    }
+}
@@ -0,0 +1,68 @@
+package com.thiagoarend.parking_spot_management_api.benchmark;
+
+import com.thiagoarend.parking_spot_management_api.exception.EntityNotFoundException;
+import com.thiagoarend.parking_spot_management_api.web.dto.UserCreateDto;
+import com.thiagoarend.parking_spot_management_api.web.exception.ApiExceptionHandler;
+import com.thiagoarend.parking_spot_management_api.web.exception.ErrorMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+
+import java.util.concurrent.TimeUnit;
+
+// caminho de erro completo: criação da exceção, tratamento no ApiExceptionHandler e montagem do ErrorMessage;
+// executar com -Djmh.args="ErrorPath -prof gc" para comparar a alocação por operação (gc.alloc.rate.norm)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ErrorPathBenchmark {
+    private static final String MESSAGE = "User with id '1' was not found.";
+
+    private ApiExceptionHandler handler;
+    private MockHttpServletRequest request;
+    private BindingResult emptyBindingResult;
+
+    @Setup
+    public void setup() {
+        handler = new ApiExceptionHandler(new SimpleMeterRegistry(), 1);
+        request = new MockHttpServletRequest("GET", "/api/v1/users/1");
+        emptyBindingResult = new BeanPropertyBindingResult(new UserCreateDto(), "userCreateDto");
+    }
+
+    // referência: o custo que as exceções de negócio tinham ao capturar o stack trace
+    @Benchmark
+    public RuntimeException stackfulException() {
+        return new RuntimeException(MESSAGE);
+    }
+
+    @Benchmark
+    public RuntimeException stacklessException() {
+        return new EntityNotFoundException(MESSAGE);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorMessage> handleNotFound() {
+        return handler.entityNotFoundException(new EntityNotFoundException(MESSAGE), request);
+    }
+
+    @Benchmark
+    public ErrorMessage errorMessageWithoutFieldErrors() {
+        return new ErrorMessage(request, HttpStatus.UNPROCESSABLE_ENTITY, "Invalid field", emptyBindingResult);
+    }
+}
@@ -0,0 +1,57 @@
+package com.thiagoarend.parking_spot_management_api.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+// custo por hash de cada algoritmo; serve de referência para o tempo alvo de api.security.password.target-hash-time
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordEncoderBenchmark {
+
+    @Param({"10", "12"})
+    int bcryptStrength;
+
+    private PasswordEncoder bcrypt;
+    private PasswordEncoder argon2;
+    private String bcryptHash;
+
+    @Setup
+    public void setup() {
+        bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        argon2 = Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+        bcryptHash = bcrypt.encode("123456");
+    }
+
+    @Benchmark
+    public String bcryptEncode() {
+        return bcrypt.encode("123456");
+    }
+
+    @Benchmark
+    public boolean bcryptMatches() {
+        return bcrypt.matches("123456", bcryptHash);
+    }
+
+    @Benchmark
+    public String argon2Encode() {
+        return argon2.encode("123456");
+    }
+}
@@ -0,0 +1,84 @@
+package com.thiagoarend.parking_spot_management_api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.thiagoarend.parking_spot_management_api.web.dto.UserResponseDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// tamanho e custo de serialização de uma página de usuários em cada formato negociável; os tamanhos (com e sem gzip)
+// são impressos no setup, os tempos são o resultado do benchmark
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayloadFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    String format;
+
+    @Param({"50", "500"})
+    int size;
+
+    private List<UserResponseDto> users;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private byte[] payload;
+
+    @Setup
+    public void setup() throws IOException {
+        users = BenchmarkData.dtos(size);
+        // os mesmos builders usados pelos conversores do spring mvc
+        ObjectMapper objectMapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, UserResponseDto.class));
+        reader = objectMapper.readerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, UserResponseDto.class));
+        payload = writer.writeValueAsBytes(users);
+        System.out.printf("%n%s, %d users: %d bytes, %d bytes gzipped%n", format, size, payload.length, gzip(payload).length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public List<UserResponseDto> deserialize() throws IOException {
+        return reader.readValue(payload);
+    }
+
+    @Benchmark
+    public byte[] serializeGzip() throws IOException {
+        return gzip(writer.writeValueAsBytes(users));
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(bytes);
+        }
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,67 @@
+package com.thiagoarend.parking_spot_management_api.benchmark;
+
+import com.thiagoarend.parking_spot_management_api.config.TariffProperties;
+import com.thiagoarend.parking_spot_management_api.entity.User;
+import com.thiagoarend.parking_spot_management_api.service.TariffEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// the fee must cost the same for any stay length; run with -prof gc to check that it does not allocate
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TariffEngineBenchmark {
+
+    @Param({"PT45M", "PT30H", "P30D"})
+    private String stay;
+
+    private TariffEngine engine;
+    private LocalDateTime entryDate;
+    private LocalDateTime exitDate;
+
+    @Setup
+    public void setup() {
+        TariffProperties.Band first = new TariffProperties.Band();
+        first.setHours(1);
+        first.setHourlyRate(new BigDecimal("10.00"));
+        TariffProperties.Band next = new TariffProperties.Band();
+        next.setHourlyRate(new BigDecimal("6.00"));
+        TariffProperties.Night night = new TariffProperties.Night();
+        night.setHourlyRate(new BigDecimal("4.00"));
+        TariffProperties.Tariff tariff = new TariffProperties.Tariff();
+        tariff.setBands(List.of(first, next));
+        tariff.setNight(night);
+        tariff.setDailyCap(new BigDecimal("60.00"));
+        tariff.getDiscounts().put(User.Role.ROLE_ADMIN, 50);
+        TariffProperties properties = new TariffProperties();
+        properties.setLots(Map.of("A", tariff));
+
+        engine = new TariffEngine(properties);
+        entryDate = LocalDateTime.of(2024, 5, 10, 18, 20);
+        exitDate = entryDate.plus(Duration.parse(stay));
+    }
+
+    @Benchmark
+    public long feeCents() {
+        return engine.feeCents("A", User.Role.ROLE_CLIENT, entryDate, exitDate);
+    }
+}
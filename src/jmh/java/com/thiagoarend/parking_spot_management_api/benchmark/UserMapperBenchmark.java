@@ -0,0 +1,50 @@
+package com.thiagoarend.parking_spot_management_api.benchmark;
+
+import com.thiagoarend.parking_spot_management_api.entity.User;
+import com.thiagoarend.parking_spot_management_api.web.dto.UserResponseDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.mapper.UserMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserMapperBenchmark {
+
+    @Param({"10", "500"})
+    int size;
+
+    private User user;
+    private List<User> users;
+
+    @Setup
+    public void setup() {
+        user = BenchmarkData.user(1L);
+        users = BenchmarkData.users(size);
+    }
+
+    @Benchmark
+    public UserResponseDto toDto() {
+        return UserMapper.toDto(user);
+    }
+
+    @Benchmark
+    public List<UserResponseDto> toListDto() {
+        return UserMapper.toListDto(users);
+    }
+}
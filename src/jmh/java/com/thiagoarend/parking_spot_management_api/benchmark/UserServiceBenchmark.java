@@ -0,0 +1,139 @@
+package com.thiagoarend.parking_spot_management_api.benchmark;
+
+import com.thiagoarend.parking_spot_management_api.ParkingSpotManagementApiApplication;
+import com.thiagoarend.parking_spot_management_api.entity.User;
+import com.thiagoarend.parking_spot_management_api.repository.UserRepository;
+import com.thiagoarend.parking_spot_management_api.repository.projection.UserSummary;
+import com.thiagoarend.parking_spot_management_api.service.UserService;
+import com.thiagoarend.parking_spot_management_api.web.dto.UserResponseDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.mapper.UserMapper;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// sobe a aplicação inteira com o h2 em memória das propriedades de teste, medindo serviço, jpa e cache juntos
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserServiceBenchmark {
+    private static final int USERS = 10_000;
+
+    private final AtomicLong usernameSequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private UserRepository userRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // argumentos de linha de comando têm precedência sobre o application.properties de teste
+        context = new SpringApplicationBuilder(ParkingSpotManagementApiApplication.class).run(
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--logging.level.root=WARN",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "--spring.r2dbc.url=r2dbc:h2:mem:///benchmark;DB_CLOSE_DELAY=-1",
+                "--api.datasource.replicas[0].url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "--api.datasource.replicas[1].url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+        userService = context.getBean(UserService.class);
+        userRepository = context.getBean(UserRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        List<User> users = BenchmarkData.users(USERS);
+        users.forEach(user -> user.setId(null));
+        List<User> persisted = context.getBean(UserRepository.class).saveAll(users);
+        firstId = persisted.get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public User findById() {
+        return userService.findById(randomId());
+    }
+
+    @Benchmark
+    public UserSummary findSummaryByIdCached() {
+        return userService.findSummaryById(firstId + ThreadLocalRandom.current().nextInt(100));
+    }
+
+    @Benchmark
+    public List<UserSummary> findAll() {
+        return userService.findAll(randomId(), UserService.DEFAULT_PAGE_SIZE);
+    }
+
+    // entidade x projeção, sem cache: a mesma leitura convertida em dto dentro de uma transação somente leitura
+    @Benchmark
+    public UserResponseDto findDtoByIdEntity() {
+        long id = randomId();
+        return readOnlyTransaction.execute(status -> UserMapper.toDto(userRepository.findById(id).orElseThrow()));
+    }
+
+    @Benchmark
+    public UserResponseDto findDtoByIdProjection() {
+        long id = randomId();
+        return readOnlyTransaction.execute(status -> UserMapper.toDto(userRepository.findSummaryById(id).orElseThrow()));
+    }
+
+    @Benchmark
+    public List<UserResponseDto> findPageEntity() {
+        long cursor = randomId();
+        return readOnlyTransaction.execute(status -> UserMapper.toListDto(entityManager
+                .createQuery("select u from User u where u.id > :id order by u.id", User.class)
+                .setParameter("id", cursor)
+                .setMaxResults(UserService.DEFAULT_PAGE_SIZE)
+                .getResultList()));
+    }
+
+    @Benchmark
+    public List<UserResponseDto> findPageProjection() {
+        long cursor = randomId();
+        return readOnlyTransaction.execute(status -> UserMapper.toSummaryListDto(
+                userRepository.findSummariesByIdGreaterThan(cursor, Limit.of(UserService.DEFAULT_PAGE_SIZE))));
+    }
+
+    // inclui o hash da senha, com o custo mínimo definido nas propriedades de teste
+    @Benchmark
+    public User save() {
+        User user = new User();
+        user.setUsername("bench" + usernameSequence.incrementAndGet() + "@email.com");
+        user.setPassword("123456");
+        return userService.save(user);
+    }
+
+    private long randomId() {
+        return firstId + ThreadLocalRandom.current().nextInt(USERS);
+    }
+}
@@ -2,8 +2,11 @@ package com.thiagoarend.parking_spot_management_api;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 
-@SpringBootApplication
+// o r2dbc só faz leituras, que não precisam de transação; sem a exclusão haveria dois TransactionManager e o
+// @Transactional do jpa deixaria de saber qual usar
+@SpringBootApplication(exclude = R2dbcTransactionManagerAutoConfiguration.class)
 public class ParkingSpotManagementApiApplication {
 
 	public static void main(String[] args) {
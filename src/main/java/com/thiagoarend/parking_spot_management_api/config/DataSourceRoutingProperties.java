@@ -0,0 +1,26 @@
+package com.thiagoarend.parking_spot_management_api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "api.datasource")
+public class DataSourceRoutingProperties {
+    private List<Replica> replicas = new ArrayList<>(); // sem réplicas todas as transações usam o primário
+    private Duration validationTimeout = Duration.ofSeconds(1);
+
+    @Getter @Setter
+    public static class Replica {
+        private String url;
+        private String username; // usuário e senha do primário quando não informados
+        private String password;
+        private int maximumPoolSize = 20;
+        // curto para que uma réplica fora do ar devolva a leitura ao primário rapidamente
+        private Duration connectionTimeout = Duration.ofSeconds(1);
+    }
+}
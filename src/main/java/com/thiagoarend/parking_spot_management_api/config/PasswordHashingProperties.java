@@ -0,0 +1,45 @@
+package com.thiagoarend.parking_spot_management_api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "api.security.password")
+public class PasswordHashingProperties {
+    private String encoder = "bcrypt"; // id usado para novos hashes: bcrypt, argon2 ou pbkdf2
+    private Duration targetHashTime = Duration.ofMillis(250); // custo calibrado na inicialização para se aproximar deste tempo
+    private Bcrypt bcrypt = new Bcrypt();
+    private Argon2 argon2 = new Argon2();
+    private Pbkdf2 pbkdf2 = new Pbkdf2();
+    private Executor executor = new Executor();
+
+    @Getter @Setter
+    public static class Bcrypt {
+        private int minStrength = 10;
+        private int maxStrength = 16;
+    }
+
+    @Getter @Setter
+    public static class Argon2 {
+        private int memory = 19456; // KiB
+        private int parallelism = 1;
+        private int minIterations = 2;
+        private int maxIterations = 20;
+    }
+
+    @Getter @Setter
+    public static class Pbkdf2 {
+        // o número de iterações não é gravado no hash, por isso é fixo e não calibrado
+        private int iterations = 310000;
+    }
+
+    @Getter @Setter
+    public static class Executor {
+        private int poolSize = 0; // 0 usa a quantidade de processadores disponíveis
+        private int queueCapacity = 200;
+        private Duration waitTimeout = Duration.ofSeconds(5);
+    }
+}
@@ -0,0 +1,39 @@
+package com.thiagoarend.parking_spot_management_api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "api.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private List<String> excludedPatterns = new ArrayList<>(List.of("/actuator/**")); // nem limitados nem descartados
+    private int stripes = 16; // potência de 2
+    private int maxClientsPerStripe = 10000; // acima disso os clientes novos dividem um balde comum da regra
+    private List<Rule> rules = new ArrayList<>(); // a primeira regra que casa com a requisição é aplicada
+    private Shedding shedding = new Shedding();
+
+    @Getter @Setter
+    public static class Rule {
+        private String method; // qualquer método quando vazio
+        private String pattern;
+        private int capacity; // rajada máxima por cliente
+        private int refillTokens; // fichas devolvidas ao balde a cada refill-period
+        private Duration refillPeriod = Duration.ofSeconds(1);
+    }
+
+    @Getter @Setter
+    public static class Shedding {
+        private boolean enabled = true;
+        private Duration latencyThreshold = Duration.ofMillis(500); // média móvel da latência acima da qual requisições são descartadas
+        private double smoothing = 0.05; // peso de cada nova amostra na média móvel exponencial
+        private double maxShedRatio = 0.9; // parte das requisições continua passando para a média refletir a recuperação
+        private Duration maxSample = Duration.ofSeconds(1); // limite de cada amostra: uma requisição lenta isolada não leva a média ao limite
+        private List<String> excludedPatterns = new ArrayList<>(); // rotas longas (lotes, relatórios): podem ser descartadas, mas não entram na média
+    }
+}
@@ -0,0 +1,10 @@
+package com.thiagoarend.parking_spot_management_api.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// o provedor (caffeine) e os limites de tamanho/tempo de cada cache são definidos em application.properties
+@EnableCaching
+@Configuration
+public class SpringCacheConfig {
+}
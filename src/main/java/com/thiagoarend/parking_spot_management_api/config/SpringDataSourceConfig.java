@@ -0,0 +1,71 @@
+package com.thiagoarend.parking_spot_management_api.config;
+
+import com.thiagoarend.parking_spot_management_api.datasource.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// com o r2dbc no classpath o spring boot deixa de criar o DataSource jdbc, que continua sendo usado pelo jpa;
+// a declaração abaixo reproduz a configuração automática a partir das mesmas propriedades spring.datasource.*
+// e acrescenta as réplicas de leitura de api.datasource.replicas
+@Configuration
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+public class SpringDataSourceConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties dataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(ReadWriteRoutingDataSource.PRIMARY);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(HikariDataSource primaryDataSource, DataSourceProperties properties,
+                                                        DataSourceRoutingProperties routingProperties, MeterRegistry meterRegistry) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < routingProperties.getReplicas().size(); i++) {
+            DataSourceRoutingProperties.Replica replica = routingProperties.getReplicas().get(i);
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + i);
+            config.setDriverClassName(properties.determineDriverClassName());
+            config.setJdbcUrl(replica.getUrl());
+            config.setUsername(replica.getUsername() != null ? replica.getUsername() : properties.determineUsername());
+            config.setPassword(replica.getPassword() != null ? replica.getPassword() : properties.determinePassword());
+            config.setMaximumPoolSize(replica.getMaximumPoolSize());
+            config.setConnectionTimeout(replica.getConnectionTimeout().toMillis());
+            config.setReadOnly(true);
+            config.setInitializationFailTimeout(-1); // réplica fora do ar não impede a inicialização; as leituras vão ao primário
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry)); // pools fora do contexto não são instrumentados pelo spring boot
+            replicas.add(new HikariDataSource(config));
+        }
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicas,
+                (int) Math.max(1, routingProperties.getValidationTimeout().toSeconds()), meterRegistry);
+    }
+
+    // a conexão real só é obtida no primeiro comando, quando a transação já está marcada como somente leitura ou não
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
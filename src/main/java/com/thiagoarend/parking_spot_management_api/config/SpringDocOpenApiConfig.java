@@ -1,9 +1,11 @@
 package com.thiagoarend.parking_spot_management_api.config;
 
+import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Contact;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.info.License;
+import io.swagger.v3.oas.models.security.SecurityScheme;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -13,6 +15,7 @@ public class SpringDocOpenApiConfig {
     @Bean
     public OpenAPI openAPI() {
         return new OpenAPI()
+                .components(new Components().addSecuritySchemes("security", securityScheme()))
                 .info(
                         new Info()
                                 .title("REST API - Parking Spot Management")
@@ -22,4 +25,14 @@ public class SpringDocOpenApiConfig {
                                 .contact(new Contact().name("Thiago Frazzon Arend").email("thiago.arend@gmail.com"))
                 );
     }
+
+    private SecurityScheme securityScheme() {
+        return new SecurityScheme()
+                .description("Insert a valid bearer token to proceed")
+                .type(SecurityScheme.Type.HTTP)
+                .in(SecurityScheme.In.HEADER)
+                .scheme("bearer")
+                .bearerFormat("JWT")
+                .name("security");
+    }
 }
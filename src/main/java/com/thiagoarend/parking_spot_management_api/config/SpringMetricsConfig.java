@@ -0,0 +1,16 @@
+package com.thiagoarend.parking_spot_management_api.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// habilita o @Timed nos serviços; requisições http, repositórios e o pool jdbc já são medidos pelo actuator
+@Configuration
+public class SpringMetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
@@ -0,0 +1,62 @@
+package com.thiagoarend.parking_spot_management_api.config;
+
+import com.thiagoarend.parking_spot_management_api.security.LegacyPasswordEncoder;
+import com.thiagoarend.parking_spot_management_api.security.OffloadingPasswordEncoder;
+import com.thiagoarend.parking_spot_management_api.security.PasswordEncoderCalibrator;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@EnableConfigurationProperties(PasswordHashingProperties.class)
+@Configuration
+public class SpringPasswordEncoderConfig {
+
+    @Bean
+    public OffloadingPasswordEncoder passwordEncoder(PasswordHashingProperties properties,
+                                                     @Qualifier("passwordHashingExecutor") ThreadPoolTaskExecutor passwordHashingExecutor) {
+        String encoderId = properties.getEncoder();
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        // apenas o algoritmo usado para novos hashes é calibrado; os demais só verificam hashes antigos,
+        // e bcrypt/argon2 leem o custo do próprio hash
+        encoders.put("bcrypt", encoderId.equals("bcrypt")
+                ? PasswordEncoderCalibrator.bcrypt(properties.getBcrypt(), properties.getTargetHashTime())
+                : new BCryptPasswordEncoder());
+        encoders.put("argon2", encoderId.equals("argon2")
+                ? PasswordEncoderCalibrator.argon2(properties.getArgon2(), properties.getTargetHashTime())
+                : Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        encoders.put("pbkdf2", new Pbkdf2PasswordEncoder("", 16, properties.getPbkdf2().getIterations(),
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256));
+        if (!encoders.containsKey(encoderId)) {
+            throw new IllegalStateException(String.format("Unknown password encoder '%s'.", encoderId));
+        }
+
+        DelegatingPasswordEncoder delegatingEncoder = new DelegatingPasswordEncoder(encoderId, encoders);
+        // senhas sem o prefixo {id}: texto puro da versão original ou bcrypt sem prefixo; são regravadas no próximo login
+        delegatingEncoder.setDefaultPasswordEncoderForMatches(new LegacyPasswordEncoder());
+        return new OffloadingPasswordEncoder(delegatingEncoder, passwordHashingExecutor, properties.getExecutor().getWaitTimeout());
+    }
+
+    // bean para que o spring o inicialize e o encerre com o contexto; fora da injeção por tipo para não substituir o
+    // executor padrão da aplicação (applicationTaskExecutor)
+    @Bean(defaultCandidate = false)
+    public ThreadPoolTaskExecutor passwordHashingExecutor(PasswordHashingProperties properties) {
+        PasswordHashingProperties.Executor executorProperties = properties.getExecutor();
+        int poolSize = executorProperties.getPoolSize() > 0 ? executorProperties.getPoolSize() : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(executorProperties.getQueueCapacity());
+        executor.setThreadNamePrefix("password-hashing-");
+        return executor;
+    }
+}
@@ -0,0 +1,9 @@
+package com.thiagoarend.parking_spot_management_api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@EnableScheduling // habilita as tarefas periódicas de gravação em lote (write-behind)
+@Configuration
+public class SpringSchedulingConfig {
+}
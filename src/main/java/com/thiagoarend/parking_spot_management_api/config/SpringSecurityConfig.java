@@ -1,5 +1,13 @@
 package com.thiagoarend.parking_spot_management_api.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thiagoarend.parking_spot_management_api.jwt.JwtAuthenticationEntryPoint;
+import com.thiagoarend.parking_spot_management_api.jwt.JwtAuthorizationFilter;
+import com.thiagoarend.parking_spot_management_api.jwt.JwtUtils;
+import com.thiagoarend.parking_spot_management_api.ratelimit.LoadShedder;
+import com.thiagoarend.parking_spot_management_api.ratelimit.RateLimitFilter;
+import com.thiagoarend.parking_spot_management_api.ratelimit.RateLimiter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -8,37 +16,43 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 
+@EnableConfigurationProperties(RateLimitProperties.class)
 @EnableMethodSecurity
 @EnableWebMvc // necessaria para trabalhar com sistema de segurança
 @Configuration
 public class SpringSecurityConfig {
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, JwtUtils jwtUtils, ObjectMapper objectMapper,
+                                           RateLimiter rateLimiter, LoadShedder loadShedder) throws Exception {
         return http
                 .csrf(csrf -> csrf.disable())
                 .formLogin(form -> form.disable())
                 .httpBasic(basic -> basic.disable())
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.POST, "api/v1/users").permitAll()
+                        .requestMatchers(HttpMethod.POST, "api/v1/reactive/users").permitAll()
+                        .requestMatchers(HttpMethod.GET, "api/v1/users/availability").permitAll()
+                        .requestMatchers(HttpMethod.POST, "api/v1/auth").permitAll()
+                        .requestMatchers("/docs/**", "/docs", "/swagger-ui/**", "/v1/api-docs/**").permitAll()
+                        // coletores do prometheus não enviam jwt; em produção o acesso é restrito pela rede
+                        .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/prometheus").permitAll()
                         .anyRequest().authenticated()
                 )
                 .sessionManagement( // politica de sessão é stateless, pois aplicação é REST
                         session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
+                .addFilterBefore(new JwtAuthorizationFilter(jwtUtils), UsernamePasswordAuthenticationFilter.class)
+                // depois do jwt para limitar clientes autenticados pelo id; antes da autorização e dos controllers
+                .addFilterAfter(new RateLimitFilter(rateLimiter, loadShedder, objectMapper), JwtAuthorizationFilter.class)
+                .exceptionHandling(ex -> ex.authenticationEntryPoint(new JwtAuthenticationEntryPoint(objectMapper)))
                 .build();
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration authenticationConfiguration) throws Exception {
         return authenticationConfiguration.getAuthenticationManager();
@@ -0,0 +1,9 @@
+package com.thiagoarend.parking_spot_management_api.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@EnableConfigurationProperties(TariffProperties.class) // tarifas por estacionamento, compiladas pelo TariffEngine
+@Configuration
+public class SpringTariffConfig {
+}
@@ -0,0 +1,31 @@
+package com.thiagoarend.parking_spot_management_api.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+@Configuration
+public class SpringWebMvcConfig implements WebMvcConfigurer {
+    private final AsyncTaskExecutor taskExecutor;
+    private final Duration asyncRequestTimeout;
+
+    // com @EnableWebMvc as propriedades spring.mvc.async.* não são aplicadas, por isso a configuração é feita aqui
+    public SpringWebMvcConfig(
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) AsyncTaskExecutor taskExecutor,
+            @Value("${api.mvc.async.request-timeout:10m}") Duration asyncRequestTimeout) {
+        this.taskExecutor = taskExecutor;
+        this.asyncRequestTimeout = asyncRequestTimeout;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(taskExecutor); // respostas em streaming rodam no pool gerenciado, não em uma thread nova por requisição
+        configurer.setDefaultTimeout(asyncRequestTimeout.toMillis());
+    }
+}
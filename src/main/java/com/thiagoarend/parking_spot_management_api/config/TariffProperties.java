@@ -0,0 +1,45 @@
+package com.thiagoarend.parking_spot_management_api.config;
+
+import com.thiagoarend.parking_spot_management_api.entity.User;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "api.tariffs")
+public class TariffProperties {
+    private Tariff defaultTariff = new Tariff(); // estacionamentos sem tarifa própria
+    private Map<String, Tariff> lots = new HashMap<>();
+    private Duration simulationSlice = Duration.ofDays(1); // faixa de tickets lida por vez no recálculo em lote
+
+    @Getter @Setter
+    public static class Tariff {
+        // cobrança por hora iniciada; as faixas valem para as horas do primeiro dia e a última faixa segue até o fim
+        private List<Band> bands = new ArrayList<>(List.of(new Band()));
+        private Night night; // sem tarifa noturna quando ausente
+        private BigDecimal dailyCap; // teto a cada 24 horas de permanência; sem teto quando ausente
+        private Duration gracePeriod = Duration.ZERO; // permanências mais curtas não são cobradas
+        private Map<User.Role, Integer> discounts = new EnumMap<>(User.Role.class); // percentual por perfil
+    }
+
+    @Getter @Setter
+    public static class Band {
+        private int hours; // horas cobertas pela faixa; ignorado na última
+        private BigDecimal hourlyRate = new BigDecimal("10.00");
+    }
+
+    @Getter @Setter
+    public static class Night {
+        private int startHour = 22;
+        private int endHour = 6;
+        private BigDecimal hourlyRate;
+    }
+}
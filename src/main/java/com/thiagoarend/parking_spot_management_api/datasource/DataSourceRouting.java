@@ -0,0 +1,39 @@
+package com.thiagoarend.parking_spot_management_api.datasource;
+
+// consistência de leitura da thread atual: dentro de um escopo aberto, as transações somente leitura seguintes a uma
+// escrita (ou todas, quando pedido) são enviadas ao primário em vez das réplicas, que podem estar atrasadas
+public final class DataSourceRouting {
+    // null: fora de escopo; FALSE: escopo sem escrita; TRUE: leituras no primário
+    private static final ThreadLocal<Boolean> READ_YOUR_WRITES = new ThreadLocal<>();
+
+    private DataSourceRouting() {
+    }
+
+    public static Scope open(boolean readYourWrites) {
+        Boolean previous = READ_YOUR_WRITES.get();
+        READ_YOUR_WRITES.set(readYourWrites || Boolean.TRUE.equals(previous));
+        return () -> {
+            if (previous == null) {
+                READ_YOUR_WRITES.remove(); // threads de pool não carregam o estado para a próxima requisição
+            } else {
+                READ_YOUR_WRITES.set(previous);
+            }
+        };
+    }
+
+    static boolean isReadYourWrites() {
+        return Boolean.TRUE.equals(READ_YOUR_WRITES.get());
+    }
+
+    // chamado ao entregar uma conexão de escrita; fora de escopo não há leitura posterior a proteger
+    static void markWrite() {
+        if (READ_YOUR_WRITES.get() != null) {
+            READ_YOUR_WRITES.set(Boolean.TRUE);
+        }
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
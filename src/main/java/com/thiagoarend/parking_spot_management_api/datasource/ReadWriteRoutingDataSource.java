@@ -0,0 +1,173 @@
+package com.thiagoarend.parking_spot_management_api.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// envia transações somente leitura (@Transactional(readOnly = true)) para as réplicas e o restante para o primário;
+// precisa estar atrás de um LazyConnectionDataSourceProxy, porque a conexão só pode ser escolhida depois que a
+// transação marcou se é somente leitura
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    public static final String PRIMARY = "primary";
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final int validationTimeoutSeconds;
+    private final Counter primaryConnections;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas, int validationTimeoutSeconds,
+                                      MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(pool -> new Replica(pool, meterRegistry)).toList();
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.primaryConnections = connectionsCounter(meterRegistry, PRIMARY);
+        Gauge.builder("api.datasource.replicas.healthy", this.replicas, list -> list.stream().filter(replica -> replica.healthy).count())
+                .description("Replicas currently receiving read-only transactions")
+                .register(meterRegistry);
+        checkReplicas();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(HikariDataSource::getConnection);
+    }
+
+    // mesma escolha do destino; as credenciais são repassadas ao pool escolhido
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(pool -> pool.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionSource source) throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                DataSourceRouting.markWrite();
+            }
+            return primaryConnection(source);
+        }
+        if (DataSourceRouting.isReadYourWrites()) {
+            return primaryConnection(source);
+        }
+        Replica replica = selectReplica();
+        while (replica != null) {
+            try {
+                Connection connection = source.get(replica.pool);
+                replica.connections.increment();
+                return connection;
+            } catch (SQLFeatureNotSupportedException ex) {
+                throw ex; // pedido que o pool não atende (ex.: credenciais por chamada); a réplica continua saudável
+            } catch (SQLException ex) {
+                markDown(replica, ex); // a leitura continua em outra réplica ou no primário; a verificação periódica traz a réplica de volta
+                replica = selectReplica();
+            }
+        }
+        return primaryConnection(source);
+    }
+
+    private Connection primaryConnection(ConnectionSource source) throws SQLException {
+        Connection connection = source.get(primary);
+        primaryConnections.increment();
+        return connection;
+    }
+
+    // entre as réplicas saudáveis, a com menos conexões em uso; o ponto de partida em rodízio desempata
+    private Replica selectReplica() {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        Replica selected = null;
+        int selectedActive = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                int active = replica.pool.getHikariPoolMXBean().getActiveConnections();
+                if (active < selectedActive) {
+                    selected = replica;
+                    selectedActive = active;
+                }
+            }
+        }
+        return selected;
+    }
+
+    @Scheduled(fixedDelayString = "${api.datasource.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection()) {
+                if (connection.isValid(validationTimeoutSeconds)) {
+                    if (!replica.healthy) {
+                        log.info("Replica {} is back, resuming read-only transactions", replica.pool.getPoolName());
+                    }
+                    replica.healthy = true;
+                } else {
+                    markDown(replica, null);
+                }
+            } catch (SQLException ex) {
+                markDown(replica, ex);
+            }
+        }
+    }
+
+    private void markDown(Replica replica, SQLException ex) {
+        if (replica.healthy) {
+            log.warn("Replica {} is unavailable, routing its reads to other replicas or the primary: {}",
+                    replica.pool.getPoolName(), ex == null ? "connection is not valid" : ex.getMessage());
+        }
+        replica.healthy = false;
+    }
+
+    // métricas de pool e health check do actuator enxergam o pool do primário
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    // o primário é um bean e é fechado pelo spring; os pools das réplicas pertencem a esta classe
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private static Counter connectionsCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("api.datasource.connections")
+                .description("Connections handed out by the routing data source")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection get(HikariDataSource pool) throws SQLException;
+    }
+
+    private static class Replica {
+        private final HikariDataSource pool;
+        private final Counter connections;
+        private volatile boolean healthy = true;
+
+        private Replica(HikariDataSource pool, MeterRegistry meterRegistry) {
+            this.pool = pool;
+            this.connections = connectionsCounter(meterRegistry, pool.getPoolName());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.thiagoarend.parking_spot_management_api.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// cada requisição é um escopo de consistência: leituras depois de uma escrita na mesma requisição vão ao primário, e o
+// cliente que acabou de escrever em outra requisição (ex.: cadastro seguido de login) pede o mesmo pelo cabeçalho
+@Order(Ordered.HIGHEST_PRECEDENCE) // antes da cadeia do spring security, que também lê usuários
+@Component
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    public static final String READ_YOUR_WRITES_HEADER = "X-Read-Your-Writes";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (DataSourceRouting.Scope scope = DataSourceRouting.open(Boolean.parseBoolean(request.getHeader(READ_YOUR_WRITES_HEADER)))) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.thiagoarend.parking_spot_management_api.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Getter @Setter @NoArgsConstructor
+@Entity
+@Table(name = "parking_spots")
+public class ParkingSpot implements Serializable {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "parking_spots_seq")
+    @SequenceGenerator(name = "parking_spots_seq", sequenceName = "parking_spots_seq", allocationSize = 50)
+    @Column(name = "id")
+    private Long id;
+    @Column(name = "code", nullable = false, unique = true, length = 10)
+    private String code;
+    @Column(name = "lot", nullable = false, length = 20)
+    private String lot;
+    @Column(name = "spot_level", nullable = false) // 'level' é palavra-chave em alguns bancos
+    private Integer level;
+    // espelho do índice em memória, gravado de forma assíncrona; o índice é a fonte da verdade da ocupação
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 25)
+    private Status status = Status.FREE;
+    // ocupação feita pelo admin, sem ticket; gravada na hora (não no write-behind) para que a recuperação não libere a vaga
+    @Column(name = "manual_hold", nullable = false)
+    private boolean manualHold;
+
+    @Column(name = "creation_date")
+    private LocalDateTime creationDate;
+    @Column(name = "modification_date")
+    private LocalDateTime modificationDate;
+    @Column(name = "created_by")
+    private String createdBy;
+    @Column(name = "modified_by")
+    private String modifiedBy;
+
+    public enum Status {
+        FREE, OCCUPIED
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        ParkingSpot that = (ParkingSpot) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+
+    @Override
+    public String toString() {
+        return "ParkingSpot{" +
+                "id=" + id +
+                ", code='" + code + '\'' +
+                ", lot='" + lot + '\'' +
+                ", level=" + level +
+                ", status=" + status +
+                ", manualHold=" + manualHold +
+                '}';
+    }
+}
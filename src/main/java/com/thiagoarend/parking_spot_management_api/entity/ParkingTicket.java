@@ -0,0 +1,95 @@
+package com.thiagoarend.parking_spot_management_api.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Getter @Setter @NoArgsConstructor
+@Entity
+@Table(name = "parking_tickets", indexes = {
+        @Index(name = "idx_parking_tickets_status", columnList = "status"),
+        @Index(name = "idx_parking_tickets_plate", columnList = "plate"),
+        // usados na reconstrução dos agregados por faixa de horário
+        @Index(name = "idx_parking_tickets_entry_date", columnList = "entry_date"),
+        @Index(name = "idx_parking_tickets_exit_date", columnList = "exit_date")
+})
+public class ParkingTicket implements Serializable {
+    // id gerado pela aplicação no check-in: o ticket é confirmado à cancela antes de ser gravado no banco
+    @Id
+    @Column(name = "id", length = 36)
+    private String id;
+    @Column(name = "plate", nullable = false, length = 10)
+    private String plate;
+    @Column(name = "lot", nullable = false, length = 20)
+    private String lot;
+    @Column(name = "spot_level", nullable = false)
+    private Integer level;
+    @Column(name = "spot_code", nullable = false, length = 10)
+    private String spotCode;
+    @Column(name = "entry_date", nullable = false)
+    private LocalDateTime entryDate;
+    @Column(name = "exit_date")
+    private LocalDateTime exitDate;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 25)
+    private Status status = Status.OPEN;
+    @Column(name = "fee", precision = 10, scale = 2) // calculado no check-out
+    private BigDecimal fee;
+    // perfil cujo desconto foi aplicado no valor cobrado; a auditoria recalcula cada ticket com ele
+    @Enumerated(EnumType.STRING)
+    @Column(name = "fee_role", length = 25)
+    private User.Role feeRole;
+
+    @Column(name = "creation_date")
+    private LocalDateTime creationDate;
+    @Column(name = "modification_date")
+    private LocalDateTime modificationDate;
+    @Column(name = "created_by")
+    private String createdBy;
+    @Column(name = "modified_by")
+    private String modifiedBy;
+
+    public enum Status {
+        OPEN, CLOSED
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        ParkingTicket that = (ParkingTicket) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+
+    @Override
+    public String toString() {
+        return "ParkingTicket{" +
+                "id='" + id + '\'' +
+                ", plate='" + plate + '\'' +
+                ", lot='" + lot + '\'' +
+                ", level=" + level +
+                ", spotCode='" + spotCode + '\'' +
+                ", entryDate=" + entryDate +
+                ", exitDate=" + exitDate +
+                ", status=" + status +
+                ", fee=" + fee +
+                ", feeRole=" + feeRole +
+                '}';
+    }
+}
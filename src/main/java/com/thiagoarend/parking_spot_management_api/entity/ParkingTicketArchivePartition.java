@@ -0,0 +1,29 @@
+package com.thiagoarend.parking_spot_management_api.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+// registro das partições mensais (pelo mês de saída) do arquivo de tickets fechados; as tabelas são criadas pelo arquivamento
+@Getter @Setter @NoArgsConstructor @ToString
+@Entity
+@Table(name = "parking_ticket_archive_partitions")
+public class ParkingTicketArchivePartition implements Serializable {
+    @Id
+    @Column(name = "archive_month", length = 7) // yyyy-MM
+    private String month;
+    @Column(name = "table_name", nullable = false, length = 64)
+    private String tableName;
+    @Column(name = "ticket_count", nullable = false)
+    private Long ticketCount;
+    @Column(name = "creation_date")
+    private LocalDateTime creationDate;
+}
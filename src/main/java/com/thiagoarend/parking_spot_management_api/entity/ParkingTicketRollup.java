@@ -0,0 +1,45 @@
+package com.thiagoarend.parking_spot_management_api.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// totais de um estacionamento em uma hora; atualizados na mesma transação que grava os tickets, por incremento
+@Getter @Setter @NoArgsConstructor @ToString
+@Entity
+@Table(name = "parking_ticket_rollups")
+public class ParkingTicketRollup implements Serializable {
+    @EmbeddedId
+    private Key id;
+    @Column(name = "check_ins", nullable = false)
+    private Long checkIns;
+    @Column(name = "check_outs", nullable = false)
+    private Long checkOuts;
+    @Column(name = "stay_seconds", nullable = false) // soma da permanência dos tickets fechados na hora
+    private Long staySeconds;
+    @Column(name = "occupied_seconds", nullable = false) // segundos de vaga ocupada dentro da hora
+    private Long occupiedSeconds;
+    @Column(name = "revenue", nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @EqualsAndHashCode @ToString
+    @Embeddable
+    public static class Key implements Serializable {
+        @Column(name = "lot", length = 20)
+        private String lot;
+        @Column(name = "bucket_hour")
+        private LocalDateTime hour;
+    }
+}
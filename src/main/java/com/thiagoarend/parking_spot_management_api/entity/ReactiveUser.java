@@ -0,0 +1,22 @@
+package com.thiagoarend.parking_spot_management_api.entity;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+// visão somente leitura da tabela 'users' para o r2dbc; as escritas da api reativa passam pelo jpa, que controla a
+// sequência de ids
+@Getter @Setter @NoArgsConstructor
+@Table("users")
+public class ReactiveUser {
+    @Id
+    @Column("id")
+    private Long id;
+    @Column("username")
+    private String username;
+    @Column("role")
+    private User.Role role;
+}
@@ -8,6 +8,8 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -22,7 +24,10 @@ import java.util.Objects;
 @Table(name = "users") // define detalhes da tabela; pode ser omitido
 public class User implements Serializable {
     @Id // define atributo como chave primária
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // sequência com alocação em blocos (otimizador pooled): ids são obtidos 50 por vez e os inserts podem ser agrupados em batch;
+    // no mysql, que não tem sequências, o hibernate emula a sequência com a tabela 'users_seq'
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
     @Column(name = "username", nullable = false, unique = true, length = 100)
@@ -32,6 +37,10 @@ public class User implements Serializable {
     @Enumerated(EnumType.STRING)
     @Column(name = "role", nullable = false, length = 25)
     private Role role = Role.ROLE_CLIENT;
+    // controle de concorrência otimista: incrementado a cada update; também é o etag do recurso
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 
     @Column(name = "creation_date")
     private LocalDateTime creationDate;
@@ -65,6 +74,7 @@ public class User implements Serializable {
                 ", username='" + username + '\'' +
                 ", password='" + password + '\'' +
                 ", role=" + role +
+                ", version=" + version +
                 ", creationDate=" + creationDate +
                 ", modificationDate=" + modificationDate +
                 ", createdBy='" + createdBy + '\'' +
@@ -0,0 +1,7 @@
+package com.thiagoarend.parking_spot_management_api.exception;
+
+public class CodeUniqueViolationException extends DomainException {
+    public CodeUniqueViolationException(String message) {
+        super(message);
+    }
+}
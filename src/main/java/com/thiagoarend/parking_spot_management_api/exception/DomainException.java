@@ -0,0 +1,9 @@
+package com.thiagoarend.parking_spot_management_api.exception;
+
+// exceções de negócio viram respostas 4xx/503 e nunca têm o stack trace lido; não capturá-lo evita percorrer a pilha
+// a cada erro, que é o custo dominante na criação de uma exceção
+public abstract class DomainException extends RuntimeException {
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,7 @@
+package com.thiagoarend.parking_spot_management_api.exception;
+
+public class InvalidPeriodException extends DomainException {
+    public InvalidPeriodException(String message) {
+        super(message);
+    }
+}
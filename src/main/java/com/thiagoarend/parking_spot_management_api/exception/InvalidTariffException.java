@@ -0,0 +1,7 @@
+package com.thiagoarend.parking_spot_management_api.exception;
+
+public class InvalidTariffException extends DomainException {
+    public InvalidTariffException(String message) {
+        super(message);
+    }
+}
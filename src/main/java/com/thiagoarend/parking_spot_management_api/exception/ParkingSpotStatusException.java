@@ -0,0 +1,7 @@
+package com.thiagoarend.parking_spot_management_api.exception;
+
+public class ParkingSpotStatusException extends DomainException {
+    public ParkingSpotStatusException(String message) {
+        super(message);
+    }
+}
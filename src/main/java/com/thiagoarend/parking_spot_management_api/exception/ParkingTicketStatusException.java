@@ -0,0 +1,7 @@
+package com.thiagoarend.parking_spot_management_api.exception;
+
+public class ParkingTicketStatusException extends DomainException {
+    public ParkingTicketStatusException(String message) {
+        super(message);
+    }
+}
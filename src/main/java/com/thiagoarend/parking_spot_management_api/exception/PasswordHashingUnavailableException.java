@@ -0,0 +1,7 @@
+package com.thiagoarend.parking_spot_management_api.exception;
+
+public class PasswordHashingUnavailableException extends DomainException {
+    public PasswordHashingUnavailableException(String message) {
+        super(message);
+    }
+}
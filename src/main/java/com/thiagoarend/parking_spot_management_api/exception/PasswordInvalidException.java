@@ -1,6 +1,6 @@
 package com.thiagoarend.parking_spot_management_api.exception;
 
-public class PasswordInvalidException extends RuntimeException {
+public class PasswordInvalidException extends DomainException {
     public PasswordInvalidException(String message) {
         super(message);
     }
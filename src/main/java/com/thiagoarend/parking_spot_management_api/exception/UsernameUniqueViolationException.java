@@ -1,6 +1,6 @@
 package com.thiagoarend.parking_spot_management_api.exception;
 
-public class UsernameUniqueViolationException extends RuntimeException {
+public class UsernameUniqueViolationException extends DomainException {
     public UsernameUniqueViolationException(String message) {
         super(message);
     }
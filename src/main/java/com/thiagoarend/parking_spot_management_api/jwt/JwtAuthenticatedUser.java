@@ -0,0 +1,14 @@
+package com.thiagoarend.parking_spot_management_api.jwt;
+
+import com.thiagoarend.parking_spot_management_api.entity.User;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// principal montado apenas com as claims do token; nenhum acesso ao banco para autenticar uma requisição
+@Getter @AllArgsConstructor @ToString
+public class JwtAuthenticatedUser {
+    private final Long id;
+    private final String username;
+    private final User.Role role;
+}
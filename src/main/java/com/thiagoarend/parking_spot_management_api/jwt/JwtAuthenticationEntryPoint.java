@@ -0,0 +1,31 @@
+package com.thiagoarend.parking_spot_management_api.jwt;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thiagoarend.parking_spot_management_api.web.exception.ErrorMessage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.AuthenticationEntryPoint;
+
+import java.io.IOException;
+
+@Slf4j
+@RequiredArgsConstructor
+public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void commence(HttpServletRequest request, HttpServletResponse response, AuthenticationException authException)
+            throws IOException {
+        log.info("Http status 401 {}", authException.getMessage());
+        response.setHeader("WWW-Authenticate", "Bearer realm='/api/v1/auth'");
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorMessage(request, HttpStatus.UNAUTHORIZED, "Authentication is required to access this resource."));
+    }
+}
@@ -0,0 +1,42 @@
+package com.thiagoarend.parking_spot_management_api.jwt;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@RequiredArgsConstructor
+public class JwtAuthorizationFilter extends OncePerRequestFilter {
+    private final JwtUtils jwtUtils;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(JwtUtils.JWT_AUTHORIZATION);
+        if (header == null || !header.startsWith(JwtUtils.JWT_BEARER)) {
+            filterChain.doFilter(request, response); // sem token; o entry point responde 401 se o recurso exigir autenticação
+            return;
+        }
+
+        JwtAuthenticatedUser user = jwtUtils.parse(header.substring(JwtUtils.JWT_BEARER.length()));
+        if (user != null) {
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(user, null, jwtUtils.getAuthorities(user.getRole())));
+            SecurityContextHolder.setContext(context);
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    // respostas assíncronas (streaming) passam de novo pela cadeia de filtros; o token é validado outra vez em vez de guardar sessão
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+}
@@ -0,0 +1,12 @@
+package com.thiagoarend.parking_spot_management_api.jwt;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString
+public class JwtToken {
+    private String token;
+}
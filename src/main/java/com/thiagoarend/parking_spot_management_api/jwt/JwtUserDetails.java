@@ -0,0 +1,25 @@
+package com.thiagoarend.parking_spot_management_api.jwt;
+
+import com.thiagoarend.parking_spot_management_api.entity.User;
+import lombok.Getter;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+@Getter
+public class JwtUserDetails extends org.springframework.security.core.userdetails.User {
+    private final Long id;
+    private final User.Role role;
+
+    public JwtUserDetails(User user) {
+        this(user.getId(), user.getUsername(), user.getPassword(), user.getRole());
+    }
+
+    private JwtUserDetails(Long id, String username, String password, User.Role role) {
+        super(username, password, AuthorityUtils.createAuthorityList(role.name()));
+        this.id = id;
+        this.role = role;
+    }
+
+    public JwtUserDetails withPassword(String password) {
+        return new JwtUserDetails(id, getUsername(), password, role);
+    }
+}
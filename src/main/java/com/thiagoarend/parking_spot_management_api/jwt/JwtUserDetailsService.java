@@ -0,0 +1,38 @@
+package com.thiagoarend.parking_spot_management_api.jwt;
+
+import com.thiagoarend.parking_spot_management_api.repository.UserRepository;
+import com.thiagoarend.parking_spot_management_api.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+// usado apenas no login; as requisições autenticadas por token não passam por aqui
+@RequiredArgsConstructor
+@Service
+public class JwtUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+    private final UserRepository userRepository;
+
+    // a consulta do login vai à réplica; o rehash abaixo é outra transação e, sem open-in-view, é roteado ao primário
+    @Override
+    @Transactional(readOnly = true)
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return userRepository.findByUsername(username)
+                .map(JwtUserDetails::new)
+                .orElseThrow(() -> new UsernameNotFoundException(String.format("User '%s' was not found.", username)));
+    }
+
+    // chamado pelo provider após um login bem-sucedido quando o hash gravado usa algoritmo ou custo antigo
+    // a atualização em massa incrementa a versão; o resumo em cache ficaria com o ETag antigo
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = UserService.USERS_CACHE, key = "#user.id")
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePasswordByUsername(user.getUsername(), newPassword);
+        return ((JwtUserDetails) user).withPassword(newPassword);
+    }
+}
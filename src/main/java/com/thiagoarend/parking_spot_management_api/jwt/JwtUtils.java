@@ -0,0 +1,75 @@
+package com.thiagoarend.parking_spot_management_api.jwt;
+
+import com.thiagoarend.parking_spot_management_api.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Component
+public class JwtUtils {
+    public static final String JWT_BEARER = "Bearer ";
+    public static final String JWT_AUTHORIZATION = "Authorization";
+    private static final String ID_CLAIM = "id";
+    private static final String ROLE_CLAIM = "role";
+
+    // chave, parser e authorities são criados uma única vez; o parser é imutável e thread-safe
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final Duration expiration;
+    private final Map<User.Role, List<GrantedAuthority>> authorities = new EnumMap<>(User.Role.class);
+
+    public JwtUtils(@Value("${api.security.jwt.secret}") String secret,
+                    @Value("${api.security.jwt.expiration:30m}") Duration expiration) {
+        this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.expiration = expiration;
+        for (User.Role role : User.Role.values()) {
+            authorities.put(role, AuthorityUtils.createAuthorityList(role.name()));
+        }
+    }
+
+    public JwtToken createToken(Long id, String username, User.Role role) {
+        Date issuedAt = new Date();
+        String token = Jwts.builder()
+                .subject(username)
+                .claim(ID_CLAIM, id)
+                .claim(ROLE_CLAIM, role.name())
+                .issuedAt(issuedAt)
+                .expiration(new Date(issuedAt.getTime() + expiration.toMillis()))
+                .signWith(key)
+                .compact();
+        return new JwtToken(token);
+    }
+
+    // retorna null quando o token é inválido, expirado ou foi adulterado
+    public JwtAuthenticatedUser parse(String token) {
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            User.Role role = User.Role.valueOf(claims.get(ROLE_CLAIM, String.class));
+            return new JwtAuthenticatedUser(claims.get(ID_CLAIM, Long.class), claims.getSubject(), role);
+        } catch (JwtException | IllegalArgumentException ex) {
+            log.debug("Invalid JWT token: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    public List<GrantedAuthority> getAuthorities(User.Role role) {
+        return authorities.get(role);
+    }
+}
@@ -0,0 +1,97 @@
+package com.thiagoarend.parking_spot_management_api.ratelimit;
+
+import com.thiagoarend.parking_spot_management_api.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// descarte adaptativo: mantém a média móvel exponencial da latência das requisições (que inclui a espera por conexão
+// no pool e pela fila de hash de senha) e, acima do limite, descarta uma fração proporcional à sobrecarga; as rotas
+// longas ficam fora da média e cada amostra é limitada a max-sample, para que só a lentidão persistente cause descarte
+@Component
+public class LoadShedder {
+    private final boolean enabled;
+    private final double thresholdNanos;
+    private final double smoothing;
+    private final double maxShedRatio;
+    private final long maxSampleNanos;
+    private final List<PathPattern> excludedPatterns;
+    private final AtomicLong averageBits = new AtomicLong(Double.doubleToRawLongBits(0)); // double guardado em um long
+    private final Counter shed;
+
+    public LoadShedder(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        RateLimitProperties.Shedding shedding = properties.getShedding();
+        this.enabled = properties.isEnabled() && shedding.isEnabled();
+        this.thresholdNanos = shedding.getLatencyThreshold().toNanos();
+        this.smoothing = shedding.getSmoothing();
+        this.maxShedRatio = shedding.getMaxShedRatio();
+        this.maxSampleNanos = shedding.getMaxSample().toNanos();
+        this.excludedPatterns = shedding.getExcludedPatterns().stream().map(PathPatternParser.defaultInstance::parse).toList();
+        this.shed = Counter.builder("api.load-shedding.rejected")
+                .description("Requests rejected with 503 while the average latency is above the threshold")
+                .register(meterRegistry);
+        Gauge.builder("api.load-shedding.latency", this, LoadShedder::averageSeconds)
+                .description("Exponential moving average of the request latency used for load shedding")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public boolean isSampled(PathContainer path) {
+        for (PathPattern pattern : excludedPatterns) {
+            if (pattern.matches(path)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // latência de uma requisição atendida, limitada a max-sample
+    public void recordRequest(long latencyNanos) {
+        record(Math.min(latencyNanos, maxSampleNanos));
+    }
+
+    public void record(long latencyNanos) {
+        while (true) {
+            long bits = averageBits.get();
+            double average = Double.longBitsToDouble(bits);
+            double updated = average + smoothing * (latencyNanos - average);
+            if (averageBits.compareAndSet(bits, Double.doubleToRawLongBits(updated))) {
+                return;
+            }
+        }
+    }
+
+    // sobrecarga de 50% acima do limite descarta metade das requisições, até maxShedRatio
+    public boolean shouldShed() {
+        if (!enabled) {
+            return false;
+        }
+        double average = Double.longBitsToDouble(averageBits.get());
+        if (average <= thresholdNanos) {
+            return false;
+        }
+        double ratio = Math.min(maxShedRatio, (average - thresholdNanos) / thresholdNanos);
+        if (ThreadLocalRandom.current().nextDouble() < ratio) {
+            shed.increment();
+            return true;
+        }
+        return false;
+    }
+
+    // latência média acima do limite, mesmo com o descarte desligado; usado por tarefas em lote que devem ceder às requisições
+    public boolean isOverloaded() {
+        return Double.longBitsToDouble(averageBits.get()) > thresholdNanos;
+    }
+
+    private double averageSeconds() {
+        return Double.longBitsToDouble(averageBits.get()) / 1_000_000_000d;
+    }
+}
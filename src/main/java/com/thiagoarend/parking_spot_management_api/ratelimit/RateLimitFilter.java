@@ -0,0 +1,77 @@
+package com.thiagoarend.parking_spot_management_api.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thiagoarend.parking_spot_management_api.jwt.JwtAuthenticatedUser;
+import com.thiagoarend.parking_spot_management_api.web.exception.ErrorMessage;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// executado depois do JwtAuthorizationFilter: clientes autenticados são limitados pelo id, os anônimos pelo endereço
+// (atrás de proxy, configurar server.forward-headers-strategy para o endereço real do cliente); a requisição
+// descartada não chega ao controller, ao banco nem ao hash de senha
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+    private final RateLimiter rateLimiter;
+    private final LoadShedder loadShedder;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        if (!rateLimiter.isEnabled() || rateLimiter.isExcluded(path)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long wait = rateLimiter.tryAcquire(request.getMethod(), path, clientKey(request));
+        if (wait > 0) {
+            reject(request, response, HttpStatus.TOO_MANY_REQUESTS, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait - 1) + 1),
+                    "Too many requests. Try again later.");
+            return;
+        }
+        if (loadShedder.shouldShed()) {
+            reject(request, response, HttpStatus.SERVICE_UNAVAILABLE, 1, "Service is overloaded. Try again later.");
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // respostas em fluxo (sse, ndjson) seguem abertas depois do filtro e não medem a espera do servidor
+            if (!request.isAsyncStarted() && loadShedder.isSampled(path)) {
+                loadShedder.recordRequest(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof JwtAuthenticatedUser user) {
+            return "user:" + user.getId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status, long retryAfterSeconds,
+                        String message) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorMessage(request, status, message));
+    }
+}
@@ -0,0 +1,132 @@
+package com.thiagoarend.parking_spot_management_api.ratelimit;
+
+import com.thiagoarend.parking_spot_management_api.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// um balde por cliente e por regra; os baldes de cada regra ficam em mapas separados (stripes) pelo hash da chave,
+// o que limita o tamanho de cada mapa e permite varrer os baldes ociosos um mapa por vez
+@Slf4j
+@Component
+public class RateLimiter {
+    private final boolean enabled;
+    private final List<Rule> rules;
+    private final List<PathPattern> excludedPatterns;
+    private final int maxClientsPerStripe;
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        if (Integer.bitCount(properties.getStripes()) != 1) {
+            throw new IllegalStateException("api.rate-limit.stripes must be a power of two.");
+        }
+        this.enabled = properties.isEnabled();
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+        this.rules = properties.getRules().stream()
+                .map(rule -> new Rule(rule, parser.parse(rule.getPattern()), properties.getStripes(), meterRegistry))
+                .toList();
+        this.excludedPatterns = properties.getExcludedPatterns().stream().map(parser::parse).toList();
+        this.maxClientsPerStripe = properties.getMaxClientsPerStripe();
+        log.info("Rate limiter loaded with {} rules", rules.size());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isExcluded(PathContainer path) {
+        for (PathPattern pattern : excludedPatterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 0 quando a requisição pode seguir (ou nenhuma regra se aplica); senão, nanossegundos até a próxima ficha
+    public long tryAcquire(String method, PathContainer path, String clientKey) {
+        for (Rule rule : rules) {
+            if (rule.matches(method, path)) {
+                long wait = rule.bucket(clientKey, maxClientsPerStripe).tryAcquire(System.nanoTime(), rule.emissionInterval, rule.burstTolerance);
+                if (wait > 0) {
+                    rule.rejected.increment();
+                }
+                return wait;
+            }
+        }
+        return 0;
+    }
+
+    @Scheduled(fixedDelayString = "${api.rate-limit.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        for (Rule rule : rules) {
+            for (Map<String, TokenBucket> stripe : rule.stripes) {
+                stripe.values().removeIf(bucket -> bucket.isFull(now));
+            }
+        }
+    }
+
+    private static final class Rule {
+        private final String method;
+        private final PathPattern pattern;
+        private final long emissionInterval; // nanossegundos para repor uma ficha
+        private final long burstTolerance;
+        private final Map<String, TokenBucket>[] stripes;
+        private final TokenBucket overflow = new TokenBucket();
+        private final Counter rejected;
+
+        @SuppressWarnings("unchecked")
+        private Rule(RateLimitProperties.Rule rule, PathPattern pattern, int stripeCount, MeterRegistry meterRegistry) {
+            this.method = rule.getMethod() == null || rule.getMethod().isBlank() ? null : rule.getMethod().toUpperCase();
+            this.pattern = pattern;
+            // uma regra mal configurada impede a inicialização em vez de falhar a cada requisição ou de liberar tudo
+            if (rule.getCapacity() <= 0 || rule.getRefillTokens() <= 0) {
+                throw new IllegalStateException(String.format(
+                        "Rate limit rule '%s' must have a positive capacity and refill-tokens.", rule.getPattern()));
+            }
+            if (rule.getRefillPeriod() == null || rule.getRefillPeriod().toNanos() < rule.getRefillTokens()) {
+                throw new IllegalStateException(String.format(
+                        "Rate limit rule '%s' must have a refill-period of at least refill-tokens nanoseconds.", rule.getPattern()));
+            }
+            this.emissionInterval = rule.getRefillPeriod().toNanos() / rule.getRefillTokens();
+            this.burstTolerance = emissionInterval * rule.getCapacity();
+            this.stripes = new Map[stripeCount];
+            for (int i = 0; i < stripeCount; i++) {
+                stripes[i] = new ConcurrentHashMap<>();
+            }
+            this.rejected = Counter.builder("api.rate-limit.rejected")
+                    .description("Requests rejected with 429 by the per-client rate limiter")
+                    .tag("rule", (method == null ? "" : method + " ") + rule.getPattern())
+                    .register(meterRegistry);
+        }
+
+        private boolean matches(String requestMethod, PathContainer path) {
+            return (method == null || method.equals(requestMethod)) && pattern.matches(path);
+        }
+
+        private TokenBucket bucket(String clientKey, int maxClientsPerStripe) {
+            Map<String, TokenBucket> stripe = stripes[spread(clientKey.hashCode()) & (stripes.length - 1)];
+            TokenBucket bucket = stripe.get(clientKey);
+            if (bucket != null) {
+                return bucket;
+            }
+            if (stripe.size() >= maxClientsPerStripe) {
+                return overflow; // muitos clientes distintos (ex.: varredura de endereços); dividem o mesmo limite
+            }
+            return stripe.computeIfAbsent(clientKey, key -> new TokenBucket());
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
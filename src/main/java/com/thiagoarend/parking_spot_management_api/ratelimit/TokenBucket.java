@@ -0,0 +1,29 @@
+package com.thiagoarend.parking_spot_management_api.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// balde de fichas no formato GCRA: o estado é um único instante (chegada teórica da próxima requisição) atualizado por
+// compare-and-set, sem lock e sem thread de reposição; as fichas são repostas implicitamente com a passagem do tempo
+final class TokenBucket {
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    // 0 quando a ficha foi consumida; senão, nanossegundos até haver uma ficha disponível
+    long tryAcquire(long now, long emissionInterval, long burstTolerance) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival, now) + emissionInterval;
+            long wait = next - burstTolerance - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // balde cheio: removê-lo equivale a recriá-lo vazio de consumo, nenhuma informação é perdida
+    boolean isFull(long now) {
+        return theoreticalArrival.get() <= now;
+    }
+}
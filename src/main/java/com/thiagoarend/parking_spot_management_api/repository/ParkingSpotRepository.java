@@ -0,0 +1,23 @@
+package com.thiagoarend.parking_spot_management_api.repository;
+
+import com.thiagoarend.parking_spot_management_api.entity.ParkingSpot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.Optional;
+
+public interface ParkingSpotRepository extends JpaRepository<ParkingSpot, Long> {
+
+    Optional<ParkingSpot> findByCode(String code);
+
+    // usado pela gravação em lote (write-behind); uma instrução por status em vez de um update por vaga
+    @Modifying
+    @Query("update ParkingSpot s set s.status = :status, s.modificationDate = current_timestamp where s.id in :ids")
+    int updateStatus(Collection<Long> ids, ParkingSpot.Status status);
+
+    @Modifying
+    @Query("update ParkingSpot s set s.manualHold = :manualHold, s.modificationDate = current_timestamp where s.id = :id")
+    int updateManualHold(Long id, boolean manualHold);
+}
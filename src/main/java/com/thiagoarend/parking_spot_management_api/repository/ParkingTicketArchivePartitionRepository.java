@@ -0,0 +1,19 @@
+package com.thiagoarend.parking_spot_management_api.repository;
+
+import com.thiagoarend.parking_spot_management_api.entity.ParkingTicketArchivePartition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface ParkingTicketArchivePartitionRepository extends JpaRepository<ParkingTicketArchivePartition, String> {
+
+    // meses no formato yyyy-MM, comparáveis como texto
+    @Query("select p from ParkingTicketArchivePartition p where p.month >= :fromMonth and p.month <= :toMonth order by p.month")
+    List<ParkingTicketArchivePartition> findByMonthRange(String fromMonth, String toMonth);
+
+    @Modifying
+    @Query("update ParkingTicketArchivePartition p set p.ticketCount = p.ticketCount + :count where p.month = :month")
+    int incrementTicketCount(String month, long count);
+}
@@ -0,0 +1,139 @@
+package com.thiagoarend.parking_spot_management_api.repository;
+
+import com.thiagoarend.parking_spot_management_api.entity.ParkingTicket;
+import com.thiagoarend.parking_spot_management_api.entity.User;
+import com.thiagoarend.parking_spot_management_api.repository.projection.TicketStay;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Acesso às tabelas mensais do arquivo de tickets fechados. Os nomes das tabelas variam com o mês, por isso as
+ * instruções são montadas aqui, em sql, em vez de mapeadas pelo jpa; o nome vem sempre de um {@link YearMonth}.
+ * A chave primária (exit_date, id) agrupa os tickets pela data de saída, que é o filtro de toda consulta ao arquivo.
+ */
+@RequiredArgsConstructor
+@Repository
+public class ParkingTicketArchiveRepository {
+    private static final String COLUMNS = "id, plate, lot, spot_level, spot_code, entry_date, exit_date, fee, fee_role, " +
+            "creation_date, modification_date, created_by, modified_by";
+
+    private static final RowMapper<ParkingTicket> ROW_MAPPER = (rs, rowNum) -> {
+        ParkingTicket ticket = new ParkingTicket();
+        ticket.setId(rs.getString("id"));
+        ticket.setPlate(rs.getString("plate"));
+        ticket.setLot(rs.getString("lot"));
+        ticket.setLevel(rs.getInt("spot_level"));
+        ticket.setSpotCode(rs.getString("spot_code"));
+        ticket.setEntryDate(localDateTime(rs, "entry_date"));
+        ticket.setExitDate(localDateTime(rs, "exit_date"));
+        ticket.setFee(rs.getBigDecimal("fee"));
+        ticket.setFeeRole(role(rs));
+        ticket.setStatus(ParkingTicket.Status.CLOSED);
+        ticket.setCreationDate(localDateTime(rs, "creation_date"));
+        ticket.setModificationDate(localDateTime(rs, "modification_date"));
+        ticket.setCreatedBy(rs.getString("created_by"));
+        ticket.setModifiedBy(rs.getString("modified_by"));
+        return ticket;
+    };
+
+    private static final RowMapper<TicketStay> STAY_ROW_MAPPER = (rs, rowNum) -> new TicketStay(rs.getString("lot"),
+            localDateTime(rs, "entry_date"), localDateTime(rs, "exit_date"), rs.getBigDecimal("fee"), role(rs));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // como o hibernate lê os LocalDateTime das entidades (Timestamp no fuso da jvm), para que as datas arquivadas
+    // sejam as mesmas da tabela de tickets e dos parâmetros passados com Timestamp.valueOf
+    private static LocalDateTime localDateTime(ResultSet rs, String column) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(column);
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+    private static User.Role role(ResultSet rs) throws SQLException {
+        String role = rs.getString("fee_role");
+        return role == null ? null : User.Role.valueOf(role);
+    }
+
+    public static String tableName(YearMonth month) {
+        return String.format("parking_tickets_archive_%04d%02d", month.getYear(), month.getMonthValue());
+    }
+
+    // ddl: no mysql encerra a transação corrente, por isso é executado fora da transação que move os tickets
+    public void createTable(String table) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + table + " (" +
+                "id VARCHAR(36) NOT NULL, " +
+                "plate VARCHAR(10) NOT NULL, " +
+                "lot VARCHAR(20) NOT NULL, " +
+                "spot_level INTEGER NOT NULL, " +
+                "spot_code VARCHAR(10) NOT NULL, " +
+                "entry_date DATETIME(6) NOT NULL, " +
+                "exit_date DATETIME(6) NOT NULL, " +
+                "fee DECIMAL(10, 2), " +
+                "fee_role VARCHAR(25), " +
+                "creation_date DATETIME(6), " +
+                "modification_date DATETIME(6), " +
+                "created_by VARCHAR(255), " +
+                "modified_by VARCHAR(255), " +
+                "PRIMARY KEY (exit_date, id))");
+    }
+
+    // os tickets fechados mais antigos primeiro, pelo índice de exit_date
+    public List<ArchiveCandidate> findClosedBefore(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.query(
+                "SELECT id, exit_date FROM parking_tickets WHERE status = 'CLOSED' AND exit_date < ? ORDER BY exit_date LIMIT ?",
+                (rs, rowNum) -> new ArchiveCandidate(rs.getString("id"), localDateTime(rs, "exit_date")),
+                Timestamp.valueOf(cutoff), limit);
+    }
+
+    // copia e apaga na mesma transação; retorna o número de tickets movidos
+    public int move(String table, Collection<String> ids) {
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        Object[] args = ids.toArray();
+        int copied = jdbcTemplate.update("INSERT INTO " + table + " (" + COLUMNS + ") SELECT " + COLUMNS +
+                " FROM parking_tickets WHERE status = 'CLOSED' AND id IN (" + placeholders + ")", args);
+        jdbcTemplate.update("DELETE FROM parking_tickets WHERE status = 'CLOSED' AND id IN (" + placeholders + ")", args);
+        return copied;
+    }
+
+    public List<ParkingTicket> find(String table, LocalDateTime from, LocalDateTime to, String plate, String lot, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + " FROM " + table + " WHERE exit_date >= ? AND exit_date < ?");
+        List<Object> args = new ArrayList<>(List.of(Timestamp.valueOf(from), Timestamp.valueOf(to)));
+        if (plate != null) {
+            sql.append(" AND plate = ?");
+            args.add(plate);
+        }
+        if (lot != null) {
+            sql.append(" AND lot = ?");
+            args.add(lot);
+        }
+        sql.append(" ORDER BY exit_date DESC LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
+
+    public List<TicketStay> findStays(String table, LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query("SELECT lot, entry_date, exit_date, fee, fee_role FROM " + table + " WHERE exit_date >= ? AND exit_date < ?",
+                STAY_ROW_MAPPER, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    // entradas em [from, to); a saída limitada a exitedBefore mantém a leitura no intervalo da chave primária
+    public List<TicketStay> findStaysByEntryDate(String table, LocalDateTime from, LocalDateTime to, LocalDateTime exitedBefore) {
+        return jdbcTemplate.query("SELECT lot, entry_date, exit_date, fee, fee_role FROM " + table +
+                        " WHERE exit_date >= ? AND exit_date < ? AND entry_date >= ? AND entry_date < ?",
+                STAY_ROW_MAPPER, Timestamp.valueOf(from), Timestamp.valueOf(exitedBefore), Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    public record ArchiveCandidate(String id, LocalDateTime exitDate) {
+    }
+}
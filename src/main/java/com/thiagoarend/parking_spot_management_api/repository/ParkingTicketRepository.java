@@ -0,0 +1,29 @@
+package com.thiagoarend.parking_spot_management_api.repository;
+
+import com.thiagoarend.parking_spot_management_api.entity.ParkingTicket;
+import com.thiagoarend.parking_spot_management_api.repository.projection.TicketStay;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ParkingTicketRepository extends JpaRepository<ParkingTicket, String> {
+
+    List<ParkingTicket> findByStatus(ParkingTicket.Status status);
+
+    // reconstrução dos agregados: cada faixa de horário lê as entradas e as saídas pelos índices das duas datas
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.thiagoarend.parking_spot_management_api.repository.projection.TicketStay(t.lot, t.entryDate, t.exitDate, t.fee, t.feeRole) " +
+            "from ParkingTicket t where t.entryDate >= :from and t.entryDate < :to")
+    Stream<TicketStay> streamStaysByEntryDate(LocalDateTime from, LocalDateTime to);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.thiagoarend.parking_spot_management_api.repository.projection.TicketStay(t.lot, t.entryDate, t.exitDate, t.fee, t.feeRole) " +
+            "from ParkingTicket t where t.exitDate >= :from and t.exitDate < :to")
+    Stream<TicketStay> streamStaysByExitDate(LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,24 @@
+package com.thiagoarend.parking_spot_management_api.repository;
+
+import com.thiagoarend.parking_spot_management_api.entity.ParkingTicketRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface ParkingTicketRollupRepository extends JpaRepository<ParkingTicketRollup, ParkingTicketRollup.Key> {
+
+    // soma no próprio banco, sem ler a linha; retorna 0 quando a hora ainda não tem linha
+    @Modifying(flushAutomatically = true)
+    @Query("update ParkingTicketRollup r set r.checkIns = r.checkIns + :checkIns, r.checkOuts = r.checkOuts + :checkOuts, " +
+            "r.staySeconds = r.staySeconds + :staySeconds, r.occupiedSeconds = r.occupiedSeconds + :occupiedSeconds, " +
+            "r.revenue = r.revenue + :revenue where r.id = :id")
+    int increment(ParkingTicketRollup.Key id, long checkIns, long checkOuts, long staySeconds, long occupiedSeconds,
+                  BigDecimal revenue);
+
+    @Modifying
+    @Query("delete from ParkingTicketRollup r where r.id.hour >= :from and r.id.hour < :to")
+    int deleteByHourRange(LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,12 @@
+package com.thiagoarend.parking_spot_management_api.repository;
+
+import com.thiagoarend.parking_spot_management_api.entity.ReactiveUser;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveUserRepository extends R2dbcRepository<ReactiveUser, Long> {
+
+    // as linhas são emitidas conforme a demanda do assinante, sem materializar a página inteira
+    Flux<ReactiveUser> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+}
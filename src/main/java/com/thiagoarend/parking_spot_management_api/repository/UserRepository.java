@@ -1,7 +1,55 @@
 package com.thiagoarend.parking_spot_management_api.repository;
 
 import com.thiagoarend.parking_spot_management_api.entity.User;
+import com.thiagoarend.parking_spot_management_api.repository.projection.UserSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<User, Long> {
-}
\ No newline at end of file
+
+    Optional<User> findByUsername(String username);
+
+    // consulta coberta pelo índice único de username; confirma os "talvez" do filtro de bloom
+    boolean existsByUsername(String username);
+
+    // update em massa não passa pelo @Version; a versão é incrementada aqui para que edições concorrentes da entidade falhem
+    @Modifying
+    @Query("update User u set u.password = :password, u.version = u.version + 1 where u.username = :username")
+    int updatePasswordByUsername(String username, String password);
+
+    // leituras dos endpoints: só id, username e role, sem hidratar a entidade
+    @Query("select new com.thiagoarend.parking_spot_management_api.repository.projection.UserSummary(u.id, u.username, u.role, u.version) " +
+            "from User u where u.id = :id")
+    Optional<UserSummary> findSummaryById(Long id);
+
+    // paginação por keyset: usa o índice da chave primária em vez de OFFSET, custo constante por página
+    @Query("select new com.thiagoarend.parking_spot_management_api.repository.projection.UserSummary(u.id, u.username, u.role, u.version) " +
+            "from User u where u.id > :id order by u.id")
+    List<UserSummary> findSummariesByIdGreaterThan(Long id, Limit limit);
+
+    // cursor no banco; as linhas são lidas sob demanda em vez de carregadas todas em memória
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.thiagoarend.parking_spot_management_api.repository.projection.UserSummary(u.id, u.username, u.role, u.version) " +
+            "from User u order by u.id")
+    Stream<UserSummary> streamAllSummaries();
+
+    // apenas a coluna username, para carregar o filtro de bloom sem materializar as entidades
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select u.username from User u")
+    Stream<String> streamAllUsernames();
+
+    // verificação de duplicidade em conjunto: uma única consulta por lote em vez de uma falha de insert por usuário
+    @Query("select u.username from User u where u.username in :usernames")
+    Set<String> findExistingUsernames(Collection<String> usernames);
+}
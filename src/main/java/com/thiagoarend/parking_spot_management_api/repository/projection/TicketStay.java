@@ -0,0 +1,11 @@
+package com.thiagoarend.parking_spot_management_api.repository.projection;
+
+import com.thiagoarend.parking_spot_management_api.entity.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// colunas usadas na reconstrução dos agregados e no recálculo de tarifas; exitDate, fee e feeRole são nulos nos tickets
+// abertos (feeRole também nos fechados antes de o perfil ser gravado)
+public record TicketStay(String lot, LocalDateTime entryDate, LocalDateTime exitDate, BigDecimal fee, User.Role feeRole) {
+}
@@ -0,0 +1,10 @@
+package com.thiagoarend.parking_spot_management_api.repository.projection;
+
+import com.thiagoarend.parking_spot_management_api.entity.User;
+
+import java.io.Serializable;
+
+// apenas as colunas lidas pelos endpoints; criado por expressão de construtor na consulta, não é uma entidade gerenciada
+// (sem hash da senha, sem auditoria e sem registro no contexto de persistência para dirty checking)
+public record UserSummary(Long id, String username, User.Role role, Long version) implements Serializable {
+}
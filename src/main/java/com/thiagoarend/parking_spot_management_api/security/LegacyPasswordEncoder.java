@@ -0,0 +1,35 @@
+package com.thiagoarend.parking_spot_management_api.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.regex.Pattern;
+
+// verifica as senhas gravadas sem o prefixo {id}: hashes bcrypt das primeiras versões com hash e as senhas em texto
+// puro da versão original. Só é usado para comparar; o provider de autenticação regrava a senha com o algoritmo atual
+// no primeiro login bem-sucedido (upgradeEncoding do DelegatingPasswordEncoder é sempre verdadeiro sem prefixo)
+public class LegacyPasswordEncoder implements PasswordEncoder {
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}$");
+
+    private final PasswordEncoder bcrypt = new BCryptPasswordEncoder();
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        throw new UnsupportedOperationException("Legacy passwords are only verified, never encoded.");
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null || encodedPassword.isEmpty()) {
+            return false;
+        }
+        if (BCRYPT_HASH.matcher(encodedPassword).matches()) {
+            return bcrypt.matches(rawPassword, encodedPassword);
+        }
+        // comparação em tempo constante, para não revelar pelo tempo quantos caracteres coincidem
+        return MessageDigest.isEqual(rawPassword.toString().getBytes(StandardCharsets.UTF_8),
+                encodedPassword.getBytes(StandardCharsets.UTF_8));
+    }
+}
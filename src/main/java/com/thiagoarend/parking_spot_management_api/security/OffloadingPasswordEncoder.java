@@ -0,0 +1,101 @@
+package com.thiagoarend.parking_spot_management_api.security;
+
+import com.thiagoarend.parking_spot_management_api.exception.PasswordHashingUnavailableException;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// executa os hashes em um pool próprio e limitado: no máximo um hash por núcleo é calculado ao mesmo tempo,
+// e uma rajada de cadastros/logins espera na fila em vez de disputar CPU com as demais requisições
+public class OffloadingPasswordEncoder implements PasswordEncoder {
+    private final PasswordEncoder delegate;
+    private final ThreadPoolTaskExecutor executor;
+    private final long waitTimeoutNanos;
+
+    public OffloadingPasswordEncoder(PasswordEncoder delegate, ThreadPoolTaskExecutor executor, Duration waitTimeout) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.waitTimeoutNanos = waitTimeout.toNanos();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return await(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return await(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword); // apenas lê o prefixo/parâmetros do hash; não precisa do pool
+    }
+
+    /**
+     * Hashes de um lote (importação em massa) calculados em paralelo no pool, na ordem da entrada. No máximo duas
+     * tarefas por thread ficam no pool ao mesmo tempo: todas as threads seguem ocupadas enquanto o restante da fila
+     * continua livre para os logins e cadastros.
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        int maxInFlight = Math.max(1, Math.min(executor.getMaxPoolSize() * 2, executor.getQueueCapacity()));
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+        Deque<Future<String>> inFlight = new ArrayDeque<>();
+        try {
+            for (CharSequence rawPassword : rawPasswords) {
+                if (inFlight.size() == maxInFlight) {
+                    hashes.add(await(inFlight.removeFirst()));
+                }
+                inFlight.addLast(submit(() -> delegate.encode(rawPassword)));
+            }
+            while (!inFlight.isEmpty()) {
+                hashes.add(await(inFlight.removeFirst()));
+            }
+            return hashes;
+        } finally {
+            inFlight.forEach(future -> future.cancel(true)); // só resta algo aqui quando um hash falhou
+        }
+    }
+
+    private <T> T await(Callable<T> task) {
+        return await(submit(task));
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        try {
+            return executor.submit(task);
+        } catch (TaskRejectedException ex) {
+            throw new PasswordHashingUnavailableException("Password hashing queue is full, try again later.");
+        }
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            throw new PasswordHashingUnavailableException("Password hashing timed out, try again later.");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new PasswordHashingUnavailableException("Password hashing was interrupted.");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+}
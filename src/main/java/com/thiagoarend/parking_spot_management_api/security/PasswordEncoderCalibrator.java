@@ -0,0 +1,48 @@
+package com.thiagoarend.parking_spot_management_api.security;
+
+import com.thiagoarend.parking_spot_management_api.config.PasswordHashingProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.function.IntFunction;
+
+// mede o tempo real de hash nesta máquina e escolhe o menor custo que atinge o tempo alvo
+@Slf4j
+public class PasswordEncoderCalibrator {
+    private static final String SAMPLE_PASSWORD = "calibration-sample";
+
+    public static BCryptPasswordEncoder bcrypt(PasswordHashingProperties.Bcrypt bcrypt, Duration target) {
+        int strength = calibrate("bcrypt strength", bcrypt.getMinStrength(), bcrypt.getMaxStrength(), target,
+                BCryptPasswordEncoder::new);
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    public static Argon2PasswordEncoder argon2(PasswordHashingProperties.Argon2 argon2, Duration target) {
+        IntFunction<Argon2PasswordEncoder> factory = iterations ->
+                new Argon2PasswordEncoder(16, 32, argon2.getParallelism(), argon2.getMemory(), iterations);
+        return factory.apply(calibrate("argon2 iterations", argon2.getMinIterations(), argon2.getMaxIterations(), target, factory));
+    }
+
+    // bcrypt dobra o custo a cada nível e argon2 cresce linearmente com as iterações; em ambos basta subir até atingir o alvo
+    private static int calibrate(String parameter, int min, int max, Duration target, IntFunction<? extends PasswordEncoder> factory) {
+        factory.apply(min).encode(SAMPLE_PASSWORD); // aquecimento do JIT antes de medir
+        int cost = min;
+        long elapsed = measure(factory.apply(cost));
+        while (elapsed < target.toNanos() && cost < max) {
+            cost++;
+            elapsed = measure(factory.apply(cost));
+        }
+        log.info("Password hashing calibrated: {}={} takes {} ms (target {} ms)",
+                parameter, cost, Duration.ofNanos(elapsed).toMillis(), target.toMillis());
+        return cost;
+    }
+
+    private static long measure(PasswordEncoder encoder) {
+        long start = System.nanoTime();
+        encoder.encode(SAMPLE_PASSWORD);
+        return System.nanoTime() - start;
+    }
+}
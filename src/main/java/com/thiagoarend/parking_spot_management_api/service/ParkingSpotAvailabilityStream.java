@@ -0,0 +1,87 @@
+package com.thiagoarend.parking_spot_management_api.service;
+
+import com.thiagoarend.parking_spot_management_api.service.ParkingSpotOccupancyIndex.LevelAvailability;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// disponibilidade das vagas em tempo real: a cada intervalo, se o índice de ocupação mudou, um aviso é enviado a todos os
+// assinantes, e cada assinante calcula só os andares que mudaram desde o que já recebeu; rajadas de ocupações viram uma
+// única atualização por intervalo e um cliente lento acumula no máximo buffer-size avisos, sem perder a última contagem
+@Component
+public class ParkingSpotAvailabilityStream {
+    private final ParkingSpotOccupancyIndex occupancyIndex;
+    private final Sinks.Many<Long> changes = Sinks.many().multicast().directBestEffort();
+    private final int bufferSize;
+    private final Duration heartbeat;
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final Counter dropped;
+    private long publishedChanges = -1; // acessado apenas pela tarefa agendada
+
+    public ParkingSpotAvailabilityStream(ParkingSpotOccupancyIndex occupancyIndex, MeterRegistry meterRegistry,
+                                         @Value("${api.parking-spots.availability-stream.buffer-size:8}") int bufferSize,
+                                         @Value("${api.parking-spots.availability-stream.heartbeat:15s}") Duration heartbeat) {
+        this.occupancyIndex = occupancyIndex;
+        this.bufferSize = bufferSize;
+        this.heartbeat = heartbeat;
+        this.dropped = Counter.builder("api.parking-spots.availability-stream.dropped")
+                .description("Change notices dropped from the buffer of slow availability subscribers")
+                .register(meterRegistry);
+        Gauge.builder("api.parking-spots.availability-stream.subscribers", subscribers, AtomicInteger::get)
+                .description("Clients subscribed to the parking spot availability stream")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${api.parking-spots.availability-stream.interval-ms:1000}")
+    public void publish() {
+        long current = occupancyIndex.changes();
+        if (current != publishedChanges) {
+            publishedChanges = current;
+            changes.tryEmitNext(current); // assinantes sem demanda já têm um aviso pendente no próprio buffer
+        }
+    }
+
+    // primeiro todos os andares do estacionamento, depois apenas os andares alterados; a lista vazia é o keepalive
+    // que faz a conexão de um cliente desconectado ser percebida mesmo sem alterações
+    public Flux<List<LevelAvailability>> subscribe(String lot) {
+        return Flux.defer(() -> {
+            Map<Integer, LevelAvailability> sent = new HashMap<>(); // por assinante; os operadores serializam o acesso
+            Flux<List<LevelAvailability>> updates = changes.asFlux()
+                    .startWith(-1L)
+                    .onBackpressureBuffer(bufferSize, notice -> dropped.increment(), BufferOverflowStrategy.DROP_OLDEST)
+                    .map(notice -> changedLevels(lot, sent))
+                    .filter(levels -> !levels.isEmpty());
+            Flux<List<LevelAvailability>> keepalive = Flux.interval(heartbeat, heartbeat)
+                    .onBackpressureDrop()
+                    .map(tick -> List.of());
+            return Flux.merge(updates, keepalive)
+                    .doOnSubscribe(subscription -> subscribers.incrementAndGet())
+                    .doFinally(signal -> subscribers.decrementAndGet());
+        });
+    }
+
+    private List<LevelAvailability> changedLevels(String lot, Map<Integer, LevelAvailability> sent) {
+        List<LevelAvailability> changed = new ArrayList<>();
+        for (LevelAvailability level : occupancyIndex.availability(lot)) {
+            LevelAvailability previous = sent.get(level.getLevel());
+            if (previous == null || previous.getFree() != level.getFree() || previous.getTotal() != level.getTotal()) {
+                changed.add(level);
+                sent.put(level.getLevel(), level);
+            }
+        }
+        return changed;
+    }
+}
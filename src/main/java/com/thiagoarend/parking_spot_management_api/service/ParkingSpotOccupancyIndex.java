@@ -0,0 +1,246 @@
+package com.thiagoarend.parking_spot_management_api.service;
+
+import com.thiagoarend.parking_spot_management_api.entity.ParkingSpot;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// estado de ocupação das vagas em memória: cada andar de um estacionamento é um bitset dividido em segmentos de 64 vagas,
+// e ocupar/liberar é um compare-and-set no segmento; nenhuma operação de ocupação usa lock nem acessa o banco
+@Component
+public class ParkingSpotOccupancyIndex {
+    private final Map<LevelKey, Level> levels = new ConcurrentHashMap<>();
+    private final Map<Long, Slot> slotsById = new ConcurrentHashMap<>();
+    private final Map<String, Slot> slotsByCode = new ConcurrentHashMap<>();
+    private final Set<Long> dirtySpotIds = ConcurrentHashMap.newKeySet(); // vagas alteradas ainda não gravadas no banco
+    private final LongAdder changes = new LongAdder(); // contador de alterações, sem disputa entre as threads que ocupam vagas
+
+    public Slot register(ParkingSpot spot) {
+        Level level = levels.computeIfAbsent(new LevelKey(spot.getLot(), spot.getLevel()), Level::new);
+        // a vaga reservada fica ocupada mesmo que o status (gravado com atraso) não tenha chegado ao banco
+        Slot slot = level.add(spot.getId(), spot.getCode(), spot.getStatus() == ParkingSpot.Status.OCCUPIED || spot.isManualHold());
+        slot.setManualHold(spot.isManualHold());
+        slotsById.put(slot.getId(), slot);
+        slotsByCode.put(slot.getCode(), slot);
+        changes.increment();
+        return slot;
+    }
+
+    public Slot findByCode(String code) {
+        return slotsByCode.get(code);
+    }
+
+    public Slot findById(Long id) {
+        return slotsById.get(id);
+    }
+
+    public Collection<Slot> slots() {
+        return Collections.unmodifiableCollection(slotsById.values());
+    }
+
+    // ocupa a primeira vaga livre do estacionamento (ou do andar informado); retorna null quando não há vaga livre
+    public Slot occupyFree(String lot, Integer level) {
+        for (Level candidate : levels.values()) {
+            if (candidate.key.lot().equals(lot) && (level == null || candidate.key.level() == level)) {
+                Slot slot = candidate.occupyFree();
+                if (slot != null) {
+                    dirtySpotIds.add(slot.getId());
+                    changes.increment();
+                    return slot;
+                }
+            }
+        }
+        return null;
+    }
+
+    public boolean occupy(Slot slot) {
+        if (!slot.level.occupy(slot)) {
+            return false;
+        }
+        dirtySpotIds.add(slot.getId());
+        changes.increment();
+        return true;
+    }
+
+    public boolean release(Slot slot) {
+        if (!slot.level.release(slot)) {
+            return false;
+        }
+        dirtySpotIds.add(slot.getId());
+        changes.increment();
+        return true;
+    }
+
+    public List<LevelAvailability> availability(String lot) {
+        List<LevelAvailability> availability = new ArrayList<>();
+        for (Level level : levels.values()) {
+            if (level.key.lot().equals(lot)) {
+                availability.add(level.availability());
+            }
+        }
+        availability.sort(Comparator.comparingInt(LevelAvailability::getLevel));
+        return availability;
+    }
+
+    // muda sempre que uma vaga é cadastrada, ocupada ou liberada; a disponibilidade lida depois já inclui essas alterações
+    public long changes() {
+        return changes.sum();
+    }
+
+    // retira as vagas alteradas desde a última chamada; o status lido depois da retirada é sempre o mais recente,
+    // e uma alteração concorrente volta a marcar a vaga para a próxima gravação
+    public List<Slot> drainDirty() {
+        List<Slot> drained = new ArrayList<>();
+        for (Long id : dirtySpotIds) {
+            if (dirtySpotIds.remove(id)) {
+                Slot slot = slotsById.get(id);
+                if (slot != null) {
+                    drained.add(slot);
+                }
+            }
+        }
+        return drained;
+    }
+
+    public void markDirty(List<Slot> slots) {
+        slots.forEach(slot -> dirtySpotIds.add(slot.getId()));
+    }
+
+    public record LevelKey(String lot, int level) {
+    }
+
+    @Getter @AllArgsConstructor
+    public static class LevelAvailability {
+        private final String lot;
+        private final int level;
+        private final int free;
+        private final int total;
+    }
+
+    public static class Slot {
+        @Getter private final Long id;
+        @Getter private final String code;
+        @Getter private final String lot;
+        @Getter private final int levelNumber;
+        private final Level level;
+        private final Segment segment;
+        private final long bit;
+        @Getter private volatile boolean manualHold;
+
+        private Slot(Long id, String code, Level level, Segment segment, long bit) {
+            this.id = id;
+            this.code = code;
+            this.lot = level.key.lot();
+            this.levelNumber = level.key.level();
+            this.level = level;
+            this.segment = segment;
+            this.bit = bit;
+        }
+
+        void setManualHold(boolean manualHold) {
+            this.manualHold = manualHold;
+        }
+
+        public ParkingSpot.Status getStatus() {
+            return (segment.occupied.get() & bit) != 0 ? ParkingSpot.Status.OCCUPIED : ParkingSpot.Status.FREE;
+        }
+    }
+
+    static class Level {
+        private final LevelKey key;
+        private final List<Segment> segments = new CopyOnWriteArrayList<>(); // só cresce no cadastro de vagas, que é raro
+        private final AtomicInteger free = new AtomicInteger();
+        private final AtomicInteger total = new AtomicInteger();
+
+        Level(LevelKey key) {
+            this.key = key;
+        }
+
+        // cadastro é serializado por andar; as leituras e o CAS de ocupação continuam livres de lock
+        synchronized Slot add(Long id, String code, boolean occupied) {
+            Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            if (segment == null || segment.registered.get() == -1L) {
+                segment = new Segment();
+                segments.add(segment);
+            }
+            int index = Long.numberOfTrailingZeros(~segment.registered.get());
+            long bit = 1L << index;
+            segment.spots[index] = new Slot(id, code, this, segment, bit);
+            if (occupied) {
+                segment.occupied.getAndAccumulate(bit, (current, mask) -> current | mask);
+            } else {
+                free.incrementAndGet();
+            }
+            total.incrementAndGet();
+            segment.registered.getAndAccumulate(bit, (current, mask) -> current | mask); // publica a vaga para as leituras
+            return segment.spots[index];
+        }
+
+        Slot occupyFree() {
+            if (free.get() == 0) {
+                return null;
+            }
+            for (Segment segment : segments) {
+                long freeBits = segment.registered.get() & ~segment.occupied.get();
+                while (freeBits != 0) {
+                    long bit = Long.lowestOneBit(freeBits);
+                    Slot slot = segment.spots[Long.numberOfTrailingZeros(bit)];
+                    if (occupy(slot)) {
+                        return slot;
+                    }
+                    freeBits = segment.registered.get() & ~segment.occupied.get(); // outra thread levou a vaga; relê o segmento
+                }
+            }
+            return null;
+        }
+
+        boolean occupy(Slot slot) {
+            AtomicLong occupied = slot.segment.occupied;
+            long current;
+            do {
+                current = occupied.get();
+                if ((current & slot.bit) != 0) {
+                    return false;
+                }
+            } while (!occupied.compareAndSet(current, current | slot.bit));
+            free.decrementAndGet();
+            return true;
+        }
+
+        boolean release(Slot slot) {
+            AtomicLong occupied = slot.segment.occupied;
+            long current;
+            do {
+                current = occupied.get();
+                if ((current & slot.bit) == 0) {
+                    return false;
+                }
+            } while (!occupied.compareAndSet(current, current & ~slot.bit));
+            free.incrementAndGet();
+            return true;
+        }
+
+        LevelAvailability availability() {
+            return new LevelAvailability(key.lot(), key.level(), free.get(), total.get());
+        }
+    }
+
+    static class Segment {
+        private final Slot[] spots = new Slot[64];
+        private final AtomicLong registered = new AtomicLong(); // bits das posições já cadastradas
+        private final AtomicLong occupied = new AtomicLong();
+    }
+}
@@ -0,0 +1,157 @@
+package com.thiagoarend.parking_spot_management_api.service;
+
+import com.thiagoarend.parking_spot_management_api.entity.ParkingSpot;
+import com.thiagoarend.parking_spot_management_api.exception.CodeUniqueViolationException;
+import com.thiagoarend.parking_spot_management_api.exception.EntityNotFoundException;
+import com.thiagoarend.parking_spot_management_api.exception.ParkingSpotStatusException;
+import com.thiagoarend.parking_spot_management_api.repository.ParkingSpotRepository;
+import com.thiagoarend.parking_spot_management_api.service.ParkingSpotOccupancyIndex.LevelAvailability;
+import com.thiagoarend.parking_spot_management_api.service.ParkingSpotOccupancyIndex.Slot;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class ParkingSpotService {
+    private final ParkingSpotRepository parkingSpotRepository;
+    private final ParkingSpotOccupancyIndex occupancyIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final ParkingSpotAvailabilityStream availabilityStream;
+
+    @PostConstruct
+    public void loadOccupancyIndex() {
+        List<ParkingSpot> spots = parkingSpotRepository.findAll(Sort.by("id"));
+        spots.forEach(occupancyIndex::register);
+        log.info("Parking spot occupancy index loaded with {} spots", spots.size());
+    }
+
+    // sem @Transactional: a vaga só entra no índice depois que o insert foi confirmado
+    public ParkingSpot save(ParkingSpot spot) {
+        ParkingSpot persistedSpot;
+        try {
+            persistedSpot = parkingSpotRepository.saveAndFlush(spot);
+        } catch (DataIntegrityViolationException ex) {
+            throw new CodeUniqueViolationException(String.format("Parking spot code '%s' is already in use.", spot.getCode()));
+        }
+        occupancyIndex.register(persistedSpot);
+        return persistedSpot;
+    }
+
+    public Slot findByCode(String code) {
+        Slot slot = occupancyIndex.findByCode(code);
+        if (slot == null) {
+            throw new EntityNotFoundException(String.format("Parking spot with code '%s' was not found.", code));
+        }
+        return slot;
+    }
+
+    public Slot occupyFree(String lot, Integer level) {
+        Slot slot = occupancyIndex.occupyFree(lot, level);
+        if (slot == null) {
+            throw new EntityNotFoundException(String.format("No free parking spot was found in lot '%s'.", lot));
+        }
+        return slot;
+    }
+
+    // ocupação manual (admin): a reserva é gravada antes da resposta e desfeita no índice se a gravação falhar
+    public Slot holdFree(String lot, Integer level) {
+        return hold(occupyFree(lot, level));
+    }
+
+    public Slot hold(String code) {
+        Slot slot = findByCode(code);
+        if (!occupancyIndex.occupy(slot)) {
+            throw new ParkingSpotStatusException(String.format("Parking spot '%s' is already occupied.", code));
+        }
+        return hold(slot);
+    }
+
+    private Slot hold(Slot slot) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> parkingSpotRepository.updateManualHold(slot.getId(), true));
+        } catch (RuntimeException ex) {
+            occupancyIndex.release(slot);
+            throw ex;
+        }
+        slot.setManualHold(true);
+        return slot;
+    }
+
+    public Slot release(String code) {
+        Slot slot = findByCode(code);
+        if (slot.isManualHold()) {
+            transactionTemplate.executeWithoutResult(status -> parkingSpotRepository.updateManualHold(slot.getId(), false));
+            slot.setManualHold(false);
+        }
+        if (!occupancyIndex.release(slot)) {
+            throw new ParkingSpotStatusException(String.format("Parking spot '%s' is already free.", code));
+        }
+        return slot;
+    }
+
+    // usado na recuperação dos tickets abertos: não falha se a vaga já consta como ocupada ou deixou de existir
+    public void restoreOccupied(String code) {
+        Slot slot = occupancyIndex.findByCode(code);
+        if (slot != null) {
+            occupancyIndex.occupy(slot);
+        }
+    }
+
+    // usado na recuperação, depois de restaurar as vagas dos tickets abertos: libera as vagas ocupadas sem ticket aberto
+    // nem reserva manual, cujo check-out foi gravado mas a liberação da vaga (gravada com atraso) se perdeu na queda;
+    // retorna quantas
+    public int releaseUnticketed(Set<String> ticketedCodes) {
+        int released = 0;
+        for (Slot slot : occupancyIndex.slots()) {
+            if (slot.getStatus() == ParkingSpot.Status.OCCUPIED && !slot.isManualHold() && !ticketedCodes.contains(slot.getCode()) && occupancyIndex.release(slot)) {
+                released++;
+            }
+        }
+        return released;
+    }
+
+    public List<LevelAvailability> availability(String lot) {
+        return occupancyIndex.availability(lot);
+    }
+
+    public Flux<List<LevelAvailability>> availabilityUpdates(String lot) {
+        return availabilityStream.subscribe(lot);
+    }
+
+    // write-behind: grava no banco apenas o último status de cada vaga alterada, em uma transação por ciclo
+    @Scheduled(fixedDelayString = "${api.parking-spots.write-behind.flush-interval-ms:500}")
+    public void flushOccupancy() {
+        List<Slot> dirty = occupancyIndex.drainDirty();
+        if (dirty.isEmpty()) {
+            return;
+        }
+        Map<ParkingSpot.Status, List<Long>> idsByStatus = dirty.stream()
+                .collect(Collectors.groupingBy(Slot::getStatus, Collectors.mapping(Slot::getId, Collectors.toList())));
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    idsByStatus.forEach((spotStatus, ids) -> parkingSpotRepository.updateStatus(ids, spotStatus)));
+        } catch (RuntimeException ex) {
+            log.error("Failed to persist occupancy of {} parking spots, retrying on next cycle", dirty.size(), ex);
+            occupancyIndex.markDirty(dirty);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushOccupancy();
+    }
+}
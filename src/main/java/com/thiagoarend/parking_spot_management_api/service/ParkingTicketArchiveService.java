@@ -0,0 +1,214 @@
+package com.thiagoarend.parking_spot_management_api.service;
+
+import com.thiagoarend.parking_spot_management_api.entity.ParkingTicket;
+import com.thiagoarend.parking_spot_management_api.entity.ParkingTicketArchivePartition;
+import com.thiagoarend.parking_spot_management_api.exception.InvalidPeriodException;
+import com.thiagoarend.parking_spot_management_api.ratelimit.LoadShedder;
+import com.thiagoarend.parking_spot_management_api.repository.ParkingTicketArchivePartitionRepository;
+import com.thiagoarend.parking_spot_management_api.repository.ParkingTicketArchiveRepository;
+import com.thiagoarend.parking_spot_management_api.repository.ParkingTicketArchiveRepository.ArchiveCandidate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Arquivamento dos tickets fechados há mais de max-age em tabelas mensais (pelo mês de saída), para que a tabela de
+ * tickets e seus índices fiquem restritos ao período recente. Cada lote é copiado e apagado em uma transação; entre os
+ * lotes há uma pausa e a execução é interrompida quando a latência média das requisições passa do limite do descarte
+ * de carga, sendo retomada no próximo ciclo. As consultas ao arquivo são feitas em paralelo nas partições do período.
+ */
+@Slf4j
+@Service
+public class ParkingTicketArchiveService {
+    private final ParkingTicketArchiveRepository archiveRepository;
+    private final ParkingTicketArchivePartitionRepository partitionRepository;
+    private final LoadShedder loadShedder;
+    private final TaskExecutor taskExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final Duration maxAge;
+    private final int batchSize;
+    private final Duration pause;
+    private final int maxBatchesPerRun;
+    private final Duration maxSearchRange;
+    private final int maxResults;
+    private final Counter archived;
+
+    private final Set<YearMonth> createdPartitions = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    public ParkingTicketArchiveService(ParkingTicketArchiveRepository archiveRepository,
+                                       ParkingTicketArchivePartitionRepository partitionRepository,
+                                       LoadShedder loadShedder,
+                                       @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+                                       PlatformTransactionManager transactionManager,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${api.parking-tickets.archive.max-age:90d}") Duration maxAge,
+                                       @Value("${api.parking-tickets.archive.batch-size:500}") int batchSize,
+                                       @Value("${api.parking-tickets.archive.pause:200ms}") Duration pause,
+                                       @Value("${api.parking-tickets.archive.max-batches-per-run:100}") int maxBatchesPerRun,
+                                       @Value("${api.parking-tickets.archive.max-search-range:366d}") Duration maxSearchRange,
+                                       @Value("${api.parking-tickets.archive.max-results:500}") int maxResults) {
+        this.archiveRepository = archiveRepository;
+        this.partitionRepository = partitionRepository;
+        this.loadShedder = loadShedder;
+        this.taskExecutor = taskExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true); // consultas ao arquivo vão para as réplicas
+        this.maxAge = maxAge;
+        this.batchSize = batchSize;
+        this.pause = pause;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.maxSearchRange = maxSearchRange;
+        this.maxResults = maxResults;
+        this.archived = Counter.builder("api.parking-tickets.archived")
+                .description("Closed parking tickets moved to the monthly archive tables")
+                .register(meterRegistry);
+    }
+
+    // a execução pode levar minutos e não deve ocupar a thread do agendador, compartilhada com a gravação em lote
+    @Scheduled(initialDelayString = "${api.parking-tickets.archive.interval-ms:3600000}",
+            fixedDelayString = "${api.parking-tickets.archive.interval-ms:3600000}")
+    public void scheduleArchive() {
+        if (runLock.isLocked()) {
+            return;
+        }
+        try {
+            taskExecutor.execute(this::archive);
+        } catch (TaskRejectedException ex) {
+            log.debug("Ticket archival not scheduled, it will run on the next cycle");
+        }
+    }
+
+    // retorna o número de tickets arquivados; 0 quando outra execução está em andamento
+    public int archive() {
+        if (!runLock.tryLock()) {
+            return 0;
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minus(maxAge);
+            int total = 0;
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                if (loadShedder.isOverloaded()) {
+                    log.info("Ticket archival paused under load after {} tickets", total);
+                    break;
+                }
+                List<ArchiveCandidate> candidates = archiveRepository.findClosedBefore(cutoff, batchSize);
+                if (candidates.isEmpty()) {
+                    break;
+                }
+                total += moveBatch(candidates);
+                if (candidates.size() < batchSize) {
+                    break;
+                }
+                Thread.sleep(pause.toMillis());
+            }
+            if (total > 0) {
+                log.info("Archived {} parking tickets closed before {}", total, cutoff);
+            }
+            return total;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    // executa com o arquivamento suspenso (aguarda a execução em andamento), para ler tickets vivos e arquivados
+    // sem que um ticket mude de tabela no meio da leitura
+    public <T> T withoutArchiving(Supplier<T> action) {
+        runLock.lock();
+        try {
+            return action.get();
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    private int moveBatch(List<ArchiveCandidate> candidates) {
+        Map<YearMonth, List<String>> idsByMonth = candidates.stream().collect(Collectors.groupingBy(
+                candidate -> YearMonth.from(candidate.exitDate()), TreeMap::new,
+                Collectors.mapping(ArchiveCandidate::id, Collectors.toList())));
+        idsByMonth.keySet().forEach(this::ensurePartition);
+        Integer moved = transactionTemplate.execute(status -> {
+            int count = 0;
+            for (Map.Entry<YearMonth, List<String>> entry : idsByMonth.entrySet()) {
+                int copied = archiveRepository.move(ParkingTicketArchiveRepository.tableName(entry.getKey()), entry.getValue());
+                partitionRepository.incrementTicketCount(entry.getKey().toString(), copied);
+                count += copied;
+            }
+            return count;
+        });
+        archived.increment(moved);
+        return moved;
+    }
+
+    // a tabela é criada antes do registro: uma partição registrada sempre tem tabela
+    private void ensurePartition(YearMonth month) {
+        if (createdPartitions.contains(month)) {
+            return;
+        }
+        String table = ParkingTicketArchiveRepository.tableName(month);
+        archiveRepository.createTable(table);
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!partitionRepository.existsById(month.toString())) {
+                ParkingTicketArchivePartition partition = new ParkingTicketArchivePartition();
+                partition.setMonth(month.toString());
+                partition.setTableName(table);
+                partition.setTicketCount(0L);
+                partition.setCreationDate(LocalDateTime.now());
+                partitionRepository.save(partition);
+            }
+        });
+        createdPartitions.add(month);
+    }
+
+    // tickets arquivados com saída em [from, to), dos mais recentes para os mais antigos
+    public List<ParkingTicket> search(LocalDateTime from, LocalDateTime to, String plate, String lot, int limit) {
+        if (!from.isBefore(to)) {
+            throw new InvalidPeriodException("The start of the period must be before its end.");
+        }
+        if (Duration.between(from, to).compareTo(maxSearchRange) > 0) {
+            throw new InvalidPeriodException(String.format("The period must not be longer than %d days.", maxSearchRange.toDays()));
+        }
+        int max = Math.min(limit, maxResults);
+        String normalizedPlate = plate == null ? null : VehiclePlateIndex.normalize(plate);
+        List<ParkingTicketArchivePartition> partitions = readOnlyTransactionTemplate.execute(status ->
+                partitionRepository.findByMonthRange(YearMonth.from(from).toString(), YearMonth.from(to.minusNanos(1)).toString()));
+
+        List<CompletableFuture<List<ParkingTicket>>> results = partitions.stream()
+                .map(partition -> CompletableFuture.supplyAsync(() -> readOnlyTransactionTemplate.execute(status ->
+                        archiveRepository.find(partition.getTableName(), from, to, normalizedPlate, lot, max)), taskExecutor))
+                .toList();
+        return results.stream()
+                .flatMap(result -> result.join().stream())
+                .sorted(Comparator.comparing(ParkingTicket::getExitDate).reversed())
+                .limit(max)
+                .toList();
+    }
+}
@@ -0,0 +1,27 @@
+package com.thiagoarend.parking_spot_management_api.service;
+
+import com.thiagoarend.parking_spot_management_api.entity.ParkingTicket;
+import com.thiagoarend.parking_spot_management_api.entity.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// registro gravado no journal; check-in carrega o ticket completo e check-out apenas o id, a data de saída, o valor e o
+// perfil cobrado (ausente nos segmentos gravados antes de existir o campo)
+public record ParkingTicketEvent(Type type, String ticketId, String plate, String lot, Integer level, String spotCode,
+                                 LocalDateTime date, BigDecimal fee, User.Role role) {
+
+    public enum Type {
+        CHECK_IN, CHECK_OUT
+    }
+
+    public static ParkingTicketEvent checkIn(ParkingTicket ticket) {
+        return new ParkingTicketEvent(Type.CHECK_IN, ticket.getId(), ticket.getPlate(), ticket.getLot(), ticket.getLevel(),
+                ticket.getSpotCode(), ticket.getEntryDate(), null, null);
+    }
+
+    public static ParkingTicketEvent checkOut(ParkingTicket ticket) {
+        return new ParkingTicketEvent(Type.CHECK_OUT, ticket.getId(), null, null, null, null, ticket.getExitDate(), ticket.getFee(),
+                ticket.getFeeRole());
+    }
+}
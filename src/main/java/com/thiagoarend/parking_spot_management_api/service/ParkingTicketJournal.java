@@ -0,0 +1,194 @@
+package com.thiagoarend.parking_spot_management_api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Write-ahead log dos tickets. Cada evento é uma linha JSON acrescentada ao segmento corrente; a cada flush o
+ * segmento é selado e um novo é aberto, e o selado só é apagado depois que os seus eventos foram gravados no banco.
+ * Os eventos pendentes de gravação ficam em memória na mesma ordem em que foram escritos no log.
+ * <p>
+ * A exclusão mútua usa {@link ReentrantLock} e não {@code synchronized}: a escrita e o fsync bloqueiam em I/O, e no
+ * Java 21 uma virtual thread bloqueada dentro de {@code synchronized} prende a thread de plataforma que a executa.
+ */
+@Slf4j
+@Component
+public class ParkingTicketJournal {
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final boolean fsync;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private List<ParkingTicketEvent> pending = new ArrayList<>();
+    private FileChannel channel;
+    private Path currentSegment;
+    private long nextSegment;
+
+    public ParkingTicketJournal(ObjectMapper objectMapper,
+                                @Value("${api.parking-tickets.journal.directory:data/ticket-journal}") Path directory,
+                                @Value("${api.parking-tickets.journal.fsync:true}") boolean fsync) {
+        this.objectMapper = objectMapper;
+        this.directory = directory;
+        this.fsync = fsync;
+        try {
+            Files.createDirectories(directory);
+            nextSegment = segments().stream().mapToLong(ParkingTicketJournal::segmentNumber).max().orElse(0) + 1;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not open ticket journal at " + directory.toAbsolutePath(), ex);
+        }
+    }
+
+    // retorna o tamanho da fila pendente depois do append, usado pelo gatilho de flush por tamanho
+    public int append(ParkingTicketEvent event) {
+        lock.lock();
+        try {
+            if (channel == null) {
+                openSegment();
+            }
+            ByteBuffer line = ByteBuffer.wrap((objectMapper.writeValueAsString(event) + "\n").getBytes(StandardCharsets.UTF_8));
+            while (line.hasRemaining()) {
+                channel.write(line);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+            pending.add(event);
+            return pending.size();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not append to ticket journal", ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // sela o segmento corrente e entrega os eventos pendentes; o próximo append abre um segmento novo
+    public Batch drain() {
+        lock.lock();
+        try {
+            List<ParkingTicketEvent> events = pending;
+            pending = new ArrayList<>();
+            Path sealed = currentSegment;
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ex) {
+                    log.warn("Could not close ticket journal segment {}", sealed, ex);
+                }
+                channel = null;
+                currentSegment = null;
+            }
+            return new Batch(events, sealed);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int pendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void delete(Path segment) {
+        try {
+            Files.deleteIfExists(segment);
+        } catch (IOException ex) {
+            log.warn("Could not delete ticket journal segment {}, it will be replayed again on startup", segment, ex);
+        }
+    }
+
+    // lê os segmentos deixados por uma execução anterior; uma última linha truncada por queda do processo é ignorada
+    public List<Recovered> recover() {
+        lock.lock();
+        try {
+            List<Recovered> recovered = new ArrayList<>();
+            try {
+                for (Path segment : segments()) {
+                    if (segment.equals(currentSegment)) {
+                        continue;
+                    }
+                    List<ParkingTicketEvent> events = new ArrayList<>();
+                    for (String line : Files.readAllLines(segment, StandardCharsets.UTF_8)) {
+                        if (line.isBlank()) {
+                            continue;
+                        }
+                        try {
+                            events.add(objectMapper.readValue(line, ParkingTicketEvent.class));
+                        } catch (IOException ex) {
+                            log.warn("Skipping unreadable entry in ticket journal segment {}", segment);
+                        }
+                    }
+                    recovered.add(new Recovered(segment, events));
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Could not read ticket journal", ex);
+            }
+            return recovered;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void openSegment() throws IOException {
+        currentSegment = directory.resolve(SEGMENT_PREFIX + String.format("%019d", nextSegment++) + SEGMENT_SUFFIX);
+        channel = FileChannel.open(currentSegment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(file -> file.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted(Comparator.comparingLong(ParkingTicketJournal::segmentNumber))
+                    .toList();
+        }
+    }
+
+    private static long segmentNumber(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    // segment é null quando nenhum evento foi escrito desde o último drain
+    public record Batch(List<ParkingTicketEvent> events, Path segment) {
+    }
+
+    public record Recovered(Path segment, List<ParkingTicketEvent> events) {
+    }
+}
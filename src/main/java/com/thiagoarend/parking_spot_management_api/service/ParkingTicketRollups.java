@@ -0,0 +1,399 @@
+package com.thiagoarend.parking_spot_management_api.service;
+
+import com.thiagoarend.parking_spot_management_api.datasource.DataSourceRouting;
+import com.thiagoarend.parking_spot_management_api.entity.ParkingTicketArchivePartition;
+import com.thiagoarend.parking_spot_management_api.entity.ParkingTicketRollup;
+import com.thiagoarend.parking_spot_management_api.exception.InvalidPeriodException;
+import com.thiagoarend.parking_spot_management_api.repository.ParkingTicketArchivePartitionRepository;
+import com.thiagoarend.parking_spot_management_api.repository.ParkingTicketArchiveRepository;
+import com.thiagoarend.parking_spot_management_api.repository.ParkingTicketRepository;
+import com.thiagoarend.parking_spot_management_api.repository.ParkingTicketRollupRepository;
+import com.thiagoarend.parking_spot_management_api.repository.projection.TicketStay;
+import com.thiagoarend.parking_spot_management_api.service.ParkingSpotOccupancyIndex.LevelAvailability;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Agregados por estacionamento e hora (entradas, saídas, permanência, ocupação e receita) usados pelos painéis.
+ * São mantidos por incremento: cada lote de eventos gravado pelo {@link ParkingTicketService} soma as diferenças nas
+ * linhas de parking_ticket_rollups na mesma transação dos tickets e, após o commit, na cópia em memória, de onde as
+ * consultas leem uma hora por acesso ao mapa. A entrada conta na hora do check-in; saída, permanência e receita na hora
+ * do check-out, e a ocupação é distribuída pelas horas da permanência quando o ticket é fechado.
+ */
+@Slf4j
+@Component
+public class ParkingTicketRollups {
+    private final ParkingTicketRollupRepository rollupRepository;
+    private final ParkingTicketRepository parkingTicketRepository;
+    private final ParkingTicketArchiveRepository archiveRepository;
+    private final ParkingTicketArchivePartitionRepository partitionRepository;
+    private final ParkingTicketArchiveService archiveService;
+    private final ParkingSpotOccupancyIndex occupancyIndex;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final Duration maxQueryRange;
+    private final Duration rebuildMaxRange;
+    private final Duration maxStay;
+    private final Duration rebuildSlice;
+    private final int rebuildParallelism;
+
+    private final Map<ParkingTicketRollup.Key, Bucket> buckets = new ConcurrentHashMap<>();
+    // serializa as gravações incrementais e a reconstrução, para que uma não sobrescreva a outra
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public ParkingTicketRollups(ParkingTicketRollupRepository rollupRepository,
+                                ParkingTicketRepository parkingTicketRepository,
+                                ParkingTicketArchiveRepository archiveRepository,
+                                ParkingTicketArchivePartitionRepository partitionRepository,
+                                ParkingTicketArchiveService archiveService,
+                                ParkingSpotOccupancyIndex occupancyIndex,
+                                EntityManager entityManager,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${api.parking-tickets.rollups.max-query-range:31d}") Duration maxQueryRange,
+                                @Value("${api.parking-tickets.rollups.rebuild-max-range:3660d}") Duration rebuildMaxRange,
+                                @Value("${api.parking-tickets.rollups.max-stay:30d}") Duration maxStay,
+                                @Value("${api.parking-tickets.rollups.rebuild-slice:1d}") Duration rebuildSlice,
+                                @Value("${api.parking-tickets.rollups.rebuild-parallelism:4}") int rebuildParallelism) {
+        this.rollupRepository = rollupRepository;
+        this.parkingTicketRepository = parkingTicketRepository;
+        this.archiveRepository = archiveRepository;
+        this.partitionRepository = partitionRepository;
+        this.archiveService = archiveService;
+        this.occupancyIndex = occupancyIndex;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.maxQueryRange = maxQueryRange;
+        this.rebuildMaxRange = rebuildMaxRange;
+        this.maxStay = maxStay;
+        this.rebuildSlice = rebuildSlice;
+        this.rebuildParallelism = rebuildParallelism;
+    }
+
+    @PostConstruct
+    public void load() {
+        List<ParkingTicketRollup> rollups = readOnlyTransactionTemplate.execute(status -> rollupRepository.findAll());
+        rollups.forEach(rollup -> buckets.put(rollup.getId(), Bucket.of(rollup)));
+        log.info("Loaded {} hourly parking ticket rollups", rollups.size());
+    }
+
+    // grava no banco (chamado dentro da transação dos tickets) e publica em memória só depois do commit
+    public void apply(Supplier<Delta> transaction) {
+        writeLock.lock();
+        try {
+            Delta delta = transaction.get();
+            if (delta != null) {
+                delta.totals.forEach((key, totals) -> buckets.computeIfAbsent(key, k -> new Bucket()).add(totals));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void persist(Delta delta) {
+        delta.totals.forEach((key, totals) -> {
+            int updated = rollupRepository.increment(key, totals.checkIns, totals.checkOuts, totals.staySeconds,
+                    totals.occupiedSeconds, BigDecimal.valueOf(totals.revenueCents, 2));
+            if (updated == 0) {
+                entityManager.persist(totals.toRollup(key)); // outra instância pode inserir a mesma hora; o lote é refeito no próximo ciclo
+            }
+        });
+    }
+
+    public List<HourlyStats> stats(String lot, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = from.truncatedTo(ChronoUnit.HOURS);
+        validate(start, to, maxQueryRange);
+        int capacity = occupancyIndex.availability(lot).stream().mapToInt(LevelAvailability::getTotal).sum();
+        List<HourlyStats> stats = new ArrayList<>();
+        for (LocalDateTime hour = start; hour.isBefore(to); hour = hour.plusHours(1)) {
+            Bucket bucket = buckets.get(new ParkingTicketRollup.Key(lot, hour));
+            stats.add(bucket == null ? HourlyStats.empty(lot, hour, capacity) : bucket.toStats(lot, hour, capacity));
+        }
+        return stats;
+    }
+
+    /**
+     * Recalcula as horas de [from, to) a partir dos tickets, vivos e arquivados, em paralelo (fork/join) por faixas de
+     * horário. Cada faixa lê os check-ins e os check-outs do seu intervalo pelos índices das datas e nas partições
+     * mensais dos meses correspondentes; as saídas são lidas até max-stay depois de 'to' para incluir a ocupação de
+     * permanências que terminaram depois do período. As leituras são feitas no primário: o lote gravado logo antes pelo
+     * flush pode ainda não ter chegado às réplicas. O arquivamento fica suspenso durante a reconstrução e as gravações
+     * incrementais a aguardam; os eventos continuam sendo aceitos e ficam no journal até lá.
+     */
+    public int rebuild(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = from.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime end = to.truncatedTo(ChronoUnit.HOURS).equals(to) ? to : to.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+        validate(start, end, rebuildMaxRange);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusHours(1);
+        LocalDateTime exitsEnd = end.plus(maxStay).isAfter(now) ? now : end.plus(maxStay);
+        LocalDateTime slicesEnd = exitsEnd.isAfter(end) ? exitsEnd : end;
+        return archiveService.withoutArchiving(() -> rebuild(start, end, slicesEnd));
+    }
+
+    private int rebuild(LocalDateTime start, LocalDateTime end, LocalDateTime slicesEnd) {
+        writeLock.lock();
+        long startNanos = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(rebuildParallelism);
+        try {
+            Map<YearMonth, String> partitions = partitions(YearMonth.from(start), YearMonth.from(slicesEnd.plus(maxStay)));
+            Delta rebuilt = pool.invoke(new RebuildTask(start, slicesEnd, start, end, partitions));
+            transactionTemplate.executeWithoutResult(status -> {
+                rollupRepository.deleteByHourRange(start, end);
+                rebuilt.totals.forEach((key, totals) -> entityManager.persist(totals.toRollup(key)));
+            });
+            buckets.keySet().removeIf(key -> !key.getHour().isBefore(start) && key.getHour().isBefore(end));
+            rebuilt.totals.forEach((key, totals) -> buckets.computeIfAbsent(key, k -> new Bucket()).add(totals));
+            log.info("Rebuilt {} hourly parking ticket rollups from {} to {} in {} ms", rebuilt.totals.size(), start, end,
+                    Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+            return rebuilt.totals.size();
+        } finally {
+            pool.shutdown();
+            writeLock.unlock();
+        }
+    }
+
+    private Map<YearMonth, String> partitions(YearMonth from, YearMonth to) {
+        try (DataSourceRouting.Scope scope = DataSourceRouting.open(true)) {
+            return readOnlyTransactionTemplate.execute(status ->
+                    partitionRepository.findByMonthRange(from.toString(), to.toString()).stream()
+                            .collect(Collectors.toMap(partition -> YearMonth.parse(partition.getMonth()),
+                                    ParkingTicketArchivePartition::getTableName)));
+        }
+    }
+
+    public Delta newDelta() {
+        return new Delta(null, null);
+    }
+
+    private static void validate(LocalDateTime from, LocalDateTime to, Duration maxRange) {
+        if (!from.isBefore(to)) {
+            throw new InvalidPeriodException("The start of the period must be before its end.");
+        }
+        if (Duration.between(from, to).compareTo(maxRange) > 0) {
+            throw new InvalidPeriodException(String.format("The period must not be longer than %d days.", maxRange.toDays()));
+        }
+    }
+
+    private class RebuildTask extends RecursiveTask<Delta> {
+        private final LocalDateTime sliceStart;
+        private final LocalDateTime sliceEnd;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private final Map<YearMonth, String> partitions;
+
+        private RebuildTask(LocalDateTime sliceStart, LocalDateTime sliceEnd, LocalDateTime from, LocalDateTime to,
+                            Map<YearMonth, String> partitions) {
+            this.sliceStart = sliceStart;
+            this.sliceEnd = sliceEnd;
+            this.from = from;
+            this.to = to;
+            this.partitions = partitions;
+        }
+
+        @Override
+        protected Delta compute() {
+            long hours = ChronoUnit.HOURS.between(sliceStart, sliceEnd);
+            if (hours > 1 && Duration.ofHours(hours).compareTo(rebuildSlice) > 0) {
+                LocalDateTime middle = sliceStart.plusHours(hours / 2);
+                RebuildTask left = new RebuildTask(sliceStart, middle, from, to, partitions);
+                RebuildTask right = new RebuildTask(middle, sliceEnd, from, to, partitions);
+                right.fork();
+                return left.compute().merge(right.join());
+            }
+            Delta delta = new Delta(from, to);
+            try (DataSourceRouting.Scope scope = DataSourceRouting.open(true)) { // por thread do pool fork/join
+                readOnlyTransactionTemplate.executeWithoutResult(status -> read(delta));
+            }
+            return delta;
+        }
+
+        private void read(Delta delta) {
+            if (sliceStart.isBefore(to)) {
+                LocalDateTime entriesEnd = sliceEnd.isAfter(to) ? to : sliceEnd;
+                try (Stream<TicketStay> stays = parkingTicketRepository.streamStaysByEntryDate(sliceStart, entriesEnd)) {
+                    stays.forEach(stay -> delta.checkIn(stay.lot(), stay.entryDate()));
+                }
+                // um ticket arquivado saiu no máximo max-stay depois da entrada
+                LocalDateTime exitedBefore = entriesEnd.plus(maxStay);
+                forEachPartition(sliceStart, exitedBefore, table -> archiveRepository
+                        .findStaysByEntryDate(table, sliceStart, entriesEnd, exitedBefore)
+                        .forEach(stay -> delta.checkIn(stay.lot(), stay.entryDate())));
+            }
+            try (Stream<TicketStay> stays = parkingTicketRepository.streamStaysByExitDate(sliceStart, sliceEnd)) {
+                stays.forEach(stay -> delta.checkOut(stay.lot(), stay.entryDate(), stay.exitDate(), stay.fee()));
+            }
+            forEachPartition(sliceStart, sliceEnd, table -> archiveRepository.findStays(table, sliceStart, sliceEnd)
+                    .forEach(stay -> delta.checkOut(stay.lot(), stay.entryDate(), stay.exitDate(), stay.fee())));
+        }
+
+        // partições dos meses de saída em [exitFrom, exitTo)
+        private void forEachPartition(LocalDateTime exitFrom, LocalDateTime exitTo, Consumer<String> action) {
+            YearMonth last = YearMonth.from(exitTo.minusNanos(1));
+            for (YearMonth month = YearMonth.from(exitFrom); !month.isAfter(last); month = month.plusMonths(1)) {
+                String table = partitions.get(month);
+                if (table != null) {
+                    action.accept(table);
+                }
+            }
+        }
+    }
+
+    /**
+     * Diferenças de um lote de eventos (ou o resultado de uma reconstrução) por estacionamento e hora; horas fora de
+     * [from, to), quando informados, são descartadas.
+     */
+    public static class Delta {
+        private final Map<ParkingTicketRollup.Key, Totals> totals = new HashMap<>();
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+
+        private Delta(LocalDateTime from, LocalDateTime to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        public void checkIn(String lot, LocalDateTime entryDate) {
+            Totals hour = totals(lot, entryDate.truncatedTo(ChronoUnit.HOURS));
+            if (hour != null) {
+                hour.checkIns++;
+            }
+        }
+
+        public void checkOut(String lot, LocalDateTime entryDate, LocalDateTime exitDate, BigDecimal fee) {
+            Totals exitHour = totals(lot, exitDate.truncatedTo(ChronoUnit.HOURS));
+            if (exitHour != null) {
+                exitHour.checkOuts++;
+                exitHour.staySeconds += Math.max(0, Duration.between(entryDate, exitDate).toSeconds());
+                exitHour.revenueCents += fee == null ? 0 : fee.movePointRight(2).longValue();
+            }
+            // ocupação: a parte da permanência que cai em cada hora
+            for (LocalDateTime hour = entryDate.truncatedTo(ChronoUnit.HOURS); hour.isBefore(exitDate); hour = hour.plusHours(1)) {
+                Totals occupied = totals(lot, hour);
+                if (occupied != null) {
+                    LocalDateTime start = entryDate.isAfter(hour) ? entryDate : hour;
+                    LocalDateTime end = exitDate.isBefore(hour.plusHours(1)) ? exitDate : hour.plusHours(1);
+                    occupied.occupiedSeconds += Duration.between(start, end).toSeconds();
+                }
+            }
+        }
+
+        public boolean isEmpty() {
+            return totals.isEmpty();
+        }
+
+        private Totals totals(String lot, LocalDateTime hour) {
+            if ((from != null && hour.isBefore(from)) || (to != null && !hour.isBefore(to))) {
+                return null;
+            }
+            return totals.computeIfAbsent(new ParkingTicketRollup.Key(lot, hour), key -> new Totals());
+        }
+
+        private Delta merge(Delta other) {
+            other.totals.forEach((key, value) -> totals.merge(key, value, Totals::add));
+            return this;
+        }
+    }
+
+    private static class Totals {
+        private long checkIns;
+        private long checkOuts;
+        private long staySeconds;
+        private long occupiedSeconds;
+        private long revenueCents;
+
+        private Totals add(Totals other) {
+            checkIns += other.checkIns;
+            checkOuts += other.checkOuts;
+            staySeconds += other.staySeconds;
+            occupiedSeconds += other.occupiedSeconds;
+            revenueCents += other.revenueCents;
+            return this;
+        }
+
+        private ParkingTicketRollup toRollup(ParkingTicketRollup.Key key) {
+            ParkingTicketRollup rollup = new ParkingTicketRollup();
+            rollup.setId(key);
+            rollup.setCheckIns(checkIns);
+            rollup.setCheckOuts(checkOuts);
+            rollup.setStaySeconds(staySeconds);
+            rollup.setOccupiedSeconds(occupiedSeconds);
+            rollup.setRevenue(BigDecimal.valueOf(revenueCents, 2));
+            return rollup;
+        }
+    }
+
+    // escrito apenas por quem detém 'writeLock'; os LongAdder garantem que as consultas concorrentes vejam os valores
+    private static class Bucket {
+        private final LongAdder checkIns = new LongAdder();
+        private final LongAdder checkOuts = new LongAdder();
+        private final LongAdder staySeconds = new LongAdder();
+        private final LongAdder occupiedSeconds = new LongAdder();
+        private final LongAdder revenueCents = new LongAdder();
+
+        private static Bucket of(ParkingTicketRollup rollup) {
+            Bucket bucket = new Bucket();
+            bucket.checkIns.add(rollup.getCheckIns());
+            bucket.checkOuts.add(rollup.getCheckOuts());
+            bucket.staySeconds.add(rollup.getStaySeconds());
+            bucket.occupiedSeconds.add(rollup.getOccupiedSeconds());
+            bucket.revenueCents.add(rollup.getRevenue().movePointRight(2).longValue());
+            return bucket;
+        }
+
+        private void add(Totals totals) {
+            checkIns.add(totals.checkIns);
+            checkOuts.add(totals.checkOuts);
+            staySeconds.add(totals.staySeconds);
+            occupiedSeconds.add(totals.occupiedSeconds);
+            revenueCents.add(totals.revenueCents);
+        }
+
+        private HourlyStats toStats(String lot, LocalDateTime hour, int capacity) {
+            return HourlyStats.of(lot, hour, capacity, checkIns.sum(), checkOuts.sum(), staySeconds.sum(),
+                    occupiedSeconds.sum(), revenueCents.sum());
+        }
+    }
+
+    // taxa de ocupação em relação ao número atual de vagas do estacionamento; nula quando não há vagas cadastradas
+    public record HourlyStats(String lot, LocalDateTime hour, long checkIns, long checkOuts, Double averageStayMinutes,
+                              Double occupancyRate, BigDecimal revenue) {
+
+        private static HourlyStats empty(String lot, LocalDateTime hour, int capacity) {
+            return of(lot, hour, capacity, 0, 0, 0, 0, 0);
+        }
+
+        private static HourlyStats of(String lot, LocalDateTime hour, int capacity, long checkIns, long checkOuts,
+                                      long staySeconds, long occupiedSeconds, long revenueCents) {
+            Double averageStayMinutes = checkOuts == 0 ? null : staySeconds / 60d / checkOuts;
+            Double occupancyRate = capacity == 0 ? null : Math.min(1d, occupiedSeconds / (capacity * 3600d));
+            return new HourlyStats(lot, hour, checkIns, checkOuts, averageStayMinutes, occupancyRate,
+                    BigDecimal.valueOf(revenueCents, 2));
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package com.thiagoarend.parking_spot_management_api.service;
+
+import com.thiagoarend.parking_spot_management_api.entity.ParkingTicket;
+import com.thiagoarend.parking_spot_management_api.entity.User;
+import com.thiagoarend.parking_spot_management_api.exception.EntityNotFoundException;
+import com.thiagoarend.parking_spot_management_api.exception.ParkingSpotStatusException;
+import com.thiagoarend.parking_spot_management_api.exception.ParkingTicketStatusException;
+import com.thiagoarend.parking_spot_management_api.repository.ParkingTicketRepository;
+import com.thiagoarend.parking_spot_management_api.service.ParkingSpotOccupancyIndex.Slot;
+import com.thiagoarend.parking_spot_management_api.service.ParkingTicketJournal.Batch;
+import com.thiagoarend.parking_spot_management_api.service.ParkingTicketJournal.Recovered;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Check-in e check-out respondem assim que o evento foi escrito no journal; a gravação no banco é feita em lote,
+ * em uma transação por ciclo, quando a fila atinge o tamanho do lote ou a cada intervalo. Os tickets abertos e os
+ * fechados ainda não gravados são mantidos em memória, de forma que as consultas sempre enxergam o último estado.
+ */
+@Slf4j
+@Service
+public class ParkingTicketService {
+    private final ParkingTicketRepository parkingTicketRepository;
+    private final ParkingSpotService parkingSpotService;
+    private final ParkingTicketJournal journal;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final TariffEngine tariffEngine;
+    private final ParkingTicketRollups rollups;
+    private final VehiclePlateIndex plateIndex;
+    private final int batchSize;
+
+    private final Map<String, ParkingTicket> openTickets = new ConcurrentHashMap<>();
+    private final Map<String, String> openTicketIdsByPlate = new ConcurrentHashMap<>();
+    private final Map<String, ParkingTicket> unflushedClosedTickets = new ConcurrentHashMap<>();
+    // lotes drenados do journal que ainda não foram confirmados no banco; acessado apenas por quem detém 'flushLock'
+    private final List<Batch> unflushedBatches = new ArrayList<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public ParkingTicketService(ParkingTicketRepository parkingTicketRepository,
+                                ParkingSpotService parkingSpotService,
+                                ParkingTicketJournal journal,
+                                EntityManager entityManager,
+                                TransactionTemplate transactionTemplate,
+                                @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+                                TariffEngine tariffEngine,
+                                ParkingTicketRollups rollups,
+                                VehiclePlateIndex plateIndex,
+                                @Value("${api.parking-tickets.write-behind.batch-size:200}") int batchSize) {
+        this.parkingTicketRepository = parkingTicketRepository;
+        this.parkingSpotService = parkingSpotService;
+        this.journal = journal;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.taskExecutor = taskExecutor;
+        this.tariffEngine = tariffEngine;
+        this.rollups = rollups;
+        this.plateIndex = plateIndex;
+        this.batchSize = batchSize;
+    }
+
+    // reaplica o que ficou no journal após uma queda e só então carrega os tickets abertos
+    @PostConstruct
+    public void recover() {
+        List<Recovered> recovered = journal.recover();
+        if (!recovered.isEmpty()) {
+            List<ParkingTicketEvent> events = recovered.stream().flatMap(segment -> segment.events().stream()).toList();
+            rollups.apply(() -> transactionTemplate.execute(status -> apply(events)));
+            recovered.forEach(segment -> journal.delete(segment.segment()));
+            log.info("Replayed {} ticket events from {} journal segments", events.size(), recovered.size());
+        }
+
+        List<ParkingTicket> tickets = parkingTicketRepository.findByStatus(ParkingTicket.Status.OPEN);
+        Set<String> ticketedSpots = new HashSet<>();
+        for (ParkingTicket ticket : tickets) {
+            openTickets.put(ticket.getId(), ticket);
+            openTicketIdsByPlate.put(ticket.getPlate(), ticket.getId());
+            plateIndex.put(ticket);
+            // o status das vagas também é gravado com atraso e pode não ter chegado ao banco antes da queda
+            parkingSpotService.restoreOccupied(ticket.getSpotCode());
+            ticketedSpots.add(ticket.getSpotCode());
+        }
+        // e no sentido inverso: vaga ocupada cujo ticket já foi fechado ficaria ocupada para sempre
+        int released = parkingSpotService.releaseUnticketed(ticketedSpots);
+        if (released > 0) {
+            log.info("Released {} occupied parking spots without an open ticket", released);
+        }
+        log.info("Loaded {} open parking tickets", tickets.size());
+    }
+
+    public ParkingTicket checkIn(String plate, String lot, Integer level) {
+        String normalizedPlate = VehiclePlateIndex.normalize(plate);
+        String id = UUID.randomUUID().toString();
+        if (openTicketIdsByPlate.putIfAbsent(normalizedPlate, id) != null) {
+            throw new ParkingTicketStatusException(String.format("Vehicle '%s' already has an open ticket.", normalizedPlate));
+        }
+
+        Slot slot;
+        try {
+            slot = parkingSpotService.occupyFree(lot, level);
+        } catch (RuntimeException ex) {
+            openTicketIdsByPlate.remove(normalizedPlate, id);
+            throw ex;
+        }
+
+        ParkingTicket ticket = new ParkingTicket();
+        ticket.setId(id);
+        ticket.setPlate(normalizedPlate);
+        ticket.setLot(slot.getLot());
+        ticket.setLevel(slot.getLevelNumber());
+        ticket.setSpotCode(slot.getCode());
+        ticket.setEntryDate(LocalDateTime.now());
+        openTickets.put(id, ticket);
+
+        int pending;
+        try {
+            pending = journal.append(ParkingTicketEvent.checkIn(ticket));
+        } catch (RuntimeException ex) {
+            openTickets.remove(id);
+            openTicketIdsByPlate.remove(normalizedPlate, id);
+            parkingSpotService.release(slot.getCode());
+            throw ex;
+        }
+        plateIndex.put(ticket);
+        triggerFlushIfFull(pending);
+        return ticket;
+    }
+
+    // o perfil define o desconto da tarifa; veículos sem cadastro pagam como ROLE_CLIENT
+    public ParkingTicket checkOut(String id, User.Role role) {
+        // o ticket entra nos não gravados antes de sair dos abertos, para que findById o encontre em algum dos mapas;
+        // o putIfAbsent e a remoção condicional garantem que apenas uma requisição concorrente fecha o ticket
+        ParkingTicket ticket = openTickets.get(id);
+        if (ticket == null || unflushedClosedTickets.putIfAbsent(id, ticket) != null) {
+            findById(id);
+            throw new ParkingTicketStatusException(String.format("Parking ticket '%s' is already closed.", id));
+        }
+        if (!openTickets.remove(id, ticket)) { // fechado e já gravado por outra requisição entre o get e o putIfAbsent
+            unflushedClosedTickets.remove(id, ticket);
+            throw new ParkingTicketStatusException(String.format("Parking ticket '%s' is already closed.", id));
+        }
+        ticket.setExitDate(LocalDateTime.now());
+        ticket.setFee(tariffEngine.fee(ticket.getLot(), role, ticket.getEntryDate(), ticket.getExitDate()));
+        ticket.setFeeRole(role);
+        ticket.setStatus(ParkingTicket.Status.CLOSED);
+
+        int pending;
+        try {
+            pending = journal.append(ParkingTicketEvent.checkOut(ticket));
+        } catch (RuntimeException ex) {
+            ticket.setExitDate(null);
+            ticket.setFee(null);
+            ticket.setFeeRole(null);
+            ticket.setStatus(ParkingTicket.Status.OPEN);
+            openTickets.put(id, ticket); // também aqui o ticket volta aos abertos antes de sair dos não gravados
+            unflushedClosedTickets.remove(id, ticket);
+            throw ex;
+        }
+        openTicketIdsByPlate.remove(ticket.getPlate(), id);
+        plateIndex.remove(ticket);
+        try {
+            parkingSpotService.release(ticket.getSpotCode());
+        } catch (ParkingSpotStatusException | EntityNotFoundException ex) {
+            log.warn("Parking spot '{}' of ticket '{}' could not be released: {}", ticket.getSpotCode(), id, ex.getMessage());
+        }
+        triggerFlushIfFull(pending);
+        return ticket;
+    }
+
+    public ParkingTicket checkOutByPlate(String plate, User.Role role) {
+        String normalizedPlate = VehiclePlateIndex.normalize(plate);
+        String id = openTicketIdsByPlate.get(normalizedPlate);
+        if (id == null) {
+            throw new EntityNotFoundException(String.format("No open ticket was found for vehicle '%s'.", normalizedPlate));
+        }
+        return checkOut(id, role);
+    }
+
+    public ParkingTicket findById(String id) {
+        ParkingTicket ticket = openTickets.get(id);
+        if (ticket == null) {
+            ticket = unflushedClosedTickets.get(id);
+        }
+        if (ticket == null) {
+            ticket = parkingTicketRepository.findById(id).orElseThrow(
+                    () -> new EntityNotFoundException(String.format("Parking ticket with id '%s' was not found.", id))
+            );
+        }
+        return ticket;
+    }
+
+    // quanto o ticket deve: o valor cobrado se já foi fechado, senão a tarifa do perfil até agora; tickets abertos
+    // são respondidos da memória
+    public FeeQuote quote(String id, User.Role role) {
+        ParkingTicket ticket = findById(id);
+        if (ticket.getStatus() == ParkingTicket.Status.CLOSED && ticket.getFee() != null) {
+            return new FeeQuote(ticket, ticket.getExitDate(), ticket.getFee());
+        }
+        LocalDateTime until = ticket.getExitDate() == null ? LocalDateTime.now() : ticket.getExitDate();
+        return new FeeQuote(ticket, until, tariffEngine.fee(ticket.getLot(), role, ticket.getEntryDate(), until));
+    }
+
+    public record FeeQuote(ParkingTicket ticket, LocalDateTime until, BigDecimal fee) {
+    }
+
+    public List<ParkingTicketRollups.HourlyStats> stats(String lot, LocalDateTime from, LocalDateTime to) {
+        return rollups.stats(lot, from, to);
+    }
+
+    // os eventos gravados no journal até aqui entram antes da reconstrução, que depois só vê tickets já no banco
+    public int rebuildStats(LocalDateTime from, LocalDateTime to) {
+        flush();
+        return rollups.rebuild(from, to);
+    }
+
+    @Scheduled(fixedDelayString = "${api.parking-tickets.write-behind.flush-interval-ms:200}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            Batch batch = journal.drain();
+            if (!batch.events().isEmpty() || batch.segment() != null) {
+                unflushedBatches.add(batch);
+            }
+            if (unflushedBatches.isEmpty()) {
+                return;
+            }
+            List<ParkingTicketEvent> events = unflushedBatches.stream().flatMap(pending -> pending.events().stream()).toList();
+            try {
+                rollups.apply(() -> transactionTemplate.execute(status -> apply(events)));
+            } catch (RuntimeException ex) {
+                log.error("Failed to persist {} ticket events, retrying on next cycle", events.size(), ex);
+                return;
+            }
+            // o segmento só é apagado depois do commit; se o processo cair antes, os eventos são reaplicados
+            unflushedBatches.stream().map(Batch::segment).filter(Objects::nonNull).forEach(journal::delete);
+            unflushedBatches.clear();
+            events.stream()
+                    .filter(event -> event.type() == ParkingTicketEvent.Type.CHECK_OUT)
+                    .forEach(event -> unflushedClosedTickets.remove(event.ticketId()));
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // idempotente: tickets que já existem no banco não são inseridos de novo e check-outs já gravados são ignorados,
+    // o que permite reaplicar um segmento que foi parcialmente ou totalmente gravado antes de uma queda; pelo mesmo
+    // motivo, os agregados por hora só recebem as entradas e saídas que de fato mudaram um ticket
+    private ParkingTicketRollups.Delta apply(List<ParkingTicketEvent> events) {
+        Set<String> ids = events.stream().map(ParkingTicketEvent::ticketId).collect(Collectors.toSet());
+        Map<String, ParkingTicket> tickets = new HashMap<>();
+        parkingTicketRepository.findAllById(ids).forEach(ticket -> tickets.put(ticket.getId(), ticket));
+
+        List<ParkingTicket> newTickets = new ArrayList<>();
+        ParkingTicketRollups.Delta delta = rollups.newDelta();
+        for (ParkingTicketEvent event : events) {
+            switch (event.type()) {
+                case CHECK_IN -> tickets.computeIfAbsent(event.ticketId(), id -> {
+                    ParkingTicket ticket = toParkingTicket(event);
+                    newTickets.add(ticket);
+                    delta.checkIn(ticket.getLot(), ticket.getEntryDate());
+                    return ticket;
+                });
+                case CHECK_OUT -> {
+                    ParkingTicket ticket = tickets.get(event.ticketId());
+                    if (ticket == null) {
+                        log.warn("Ignoring check-out of unknown parking ticket '{}'", event.ticketId());
+                    } else if (ticket.getStatus() == ParkingTicket.Status.OPEN) {
+                        ticket.setExitDate(event.date());
+                        ticket.setFee(event.fee());
+                        ticket.setFeeRole(event.role());
+                        ticket.setStatus(ParkingTicket.Status.CLOSED);
+                        ticket.setModificationDate(LocalDateTime.now());
+                        delta.checkOut(ticket.getLot(), ticket.getEntryDate(), ticket.getExitDate(), ticket.getFee());
+                    }
+                }
+            }
+        }
+        // persistidos já com o estado final, para que um check-in seguido de check-out no mesmo lote gere só o insert
+        newTickets.forEach(entityManager::persist);
+        rollups.persist(delta);
+        return delta;
+    }
+
+    private void triggerFlushIfFull(int pending) {
+        if (pending >= batchSize && !flushLock.isLocked()) {
+            try {
+                taskExecutor.execute(this::flush);
+            } catch (TaskRejectedException ex) {
+                log.debug("Ticket flush not scheduled, it will run on the next cycle");
+            }
+        }
+    }
+
+    private static ParkingTicket toParkingTicket(ParkingTicketEvent event) {
+        ParkingTicket ticket = new ParkingTicket();
+        ticket.setId(event.ticketId());
+        ticket.setPlate(event.plate());
+        ticket.setLot(event.lot());
+        ticket.setLevel(event.level());
+        ticket.setSpotCode(event.spotCode());
+        ticket.setEntryDate(event.date());
+        ticket.setCreationDate(LocalDateTime.now());
+        return ticket;
+    }
+}
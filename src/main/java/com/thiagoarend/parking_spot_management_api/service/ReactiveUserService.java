@@ -0,0 +1,50 @@
+package com.thiagoarend.parking_spot_management_api.service;
+
+import com.thiagoarend.parking_spot_management_api.entity.ReactiveUser;
+import com.thiagoarend.parking_spot_management_api.entity.User;
+import com.thiagoarend.parking_spot_management_api.exception.EntityNotFoundException;
+import com.thiagoarend.parking_spot_management_api.repository.ReactiveUserRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+// leituras pelo r2dbc; as escritas continuam no jpa (sequência de ids, filtro de usernames, cache e hash de senha do
+// UserService), executadas no pool gerenciado da aplicação para não ocupar a thread da requisição
+@Service
+public class ReactiveUserService {
+    private final ReactiveUserRepository reactiveUserRepository;
+    private final UserService userService;
+    private final Scheduler writeScheduler;
+
+    public ReactiveUserService(ReactiveUserRepository reactiveUserRepository,
+                               UserService userService,
+                               @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) AsyncTaskExecutor taskExecutor) {
+        this.reactiveUserRepository = reactiveUserRepository;
+        this.userService = userService;
+        this.writeScheduler = Schedulers.fromExecutor(taskExecutor);
+    }
+
+    public Mono<ReactiveUser> findById(Long id) {
+        return reactiveUserRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException(String.format("User with id '%s' was not found.", id))));
+    }
+
+    public Flux<ReactiveUser> findAll(Long cursor, int size) {
+        return reactiveUserRepository.findByIdGreaterThanOrderByIdAsc(cursor == null ? 0L : cursor, Limit.of(UserService.pageSize(size)));
+    }
+
+    public Mono<User> save(User user) {
+        return Mono.fromCallable(() -> userService.save(user)).subscribeOn(writeScheduler);
+    }
+
+    public Mono<User> updatePassword(Long id, String currentPassword, String newPassword, String confirmPassword) {
+        return Mono.fromCallable(() -> userService.updatePassword(id, currentPassword, newPassword, confirmPassword))
+                .subscribeOn(writeScheduler);
+    }
+}
@@ -0,0 +1,156 @@
+package com.thiagoarend.parking_spot_management_api.service;
+
+import com.thiagoarend.parking_spot_management_api.config.TariffProperties;
+import com.thiagoarend.parking_spot_management_api.entity.User;
+import com.thiagoarend.parking_spot_management_api.exception.InvalidTariffException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tarifas por estacionamento compiladas na carga em tabelas de centavos por perfil, hora de entrada (0-23) e horas
+ * cobradas no dia (0-23), com as faixas, a tarifa noturna, o teto diário e o desconto já aplicados. O valor de um ticket
+ * é então o primeiro dia, mais os dias seguintes completos, mais as horas restantes: três leituras de tabela, sem
+ * alocação e com o mesmo custo para qualquer permanência.
+ */
+@Slf4j
+@Component
+public class TariffEngine {
+    private static final User.Role[] ROLES = User.Role.values();
+    private static final int HOURS = 24;
+
+    private final CompiledTariff defaultTariff;
+    private final Map<String, CompiledTariff> tariffs = new HashMap<>(); // somente leitura após o construtor
+
+    public TariffEngine(TariffProperties properties) {
+        this.defaultTariff = compile(properties.getDefaultTariff());
+        properties.getLots().forEach((lot, tariff) -> tariffs.put(lot, compile(tariff)));
+        log.info("Compiled default tariff and {} lot tariffs", tariffs.size());
+    }
+
+    public CompiledTariff tariff(String lot) {
+        return tariffs.getOrDefault(lot, defaultTariff);
+    }
+
+    public long feeCents(String lot, User.Role role, LocalDateTime entryDate, LocalDateTime exitDate) {
+        return tariff(lot).feeCents(role, entryDate, exitDate);
+    }
+
+    public BigDecimal fee(String lot, User.Role role, LocalDateTime entryDate, LocalDateTime exitDate) {
+        return BigDecimal.valueOf(feeCents(lot, role, entryDate, exitDate), 2);
+    }
+
+    public static CompiledTariff compile(TariffProperties.Tariff tariff) {
+        List<TariffProperties.Band> bands = tariff.getBands();
+        if (bands == null || bands.isEmpty()) {
+            throw new InvalidTariffException("A tariff must have at least one hourly band.");
+        }
+        // tarifa de cada hora do primeiro dia pela faixa; nos dias seguintes vale a última faixa
+        long[] firstDayRates = new long[HOURS];
+        int hour = 0;
+        for (int i = 0; i < bands.size(); i++) {
+            TariffProperties.Band band = bands.get(i);
+            boolean last = i == bands.size() - 1;
+            if (!last && band.getHours() <= 0) {
+                throw new InvalidTariffException("Every hourly band but the last must cover at least one hour.");
+            }
+            long rate = cents(band.getHourlyRate());
+            int end = last ? HOURS : Math.min(HOURS, hour + band.getHours());
+            for (; hour < end; hour++) {
+                firstDayRates[hour] = rate;
+            }
+        }
+        long laterDayRate = cents(bands.get(bands.size() - 1).getHourlyRate());
+
+        TariffProperties.Night night = tariff.getNight();
+        long nightRate = -1;
+        if (night != null) {
+            if (night.getStartHour() < 0 || night.getStartHour() >= HOURS || night.getEndHour() < 0 || night.getEndHour() >= HOURS) {
+                throw new InvalidTariffException("Night start and end hours must be between 0 and 23.");
+            }
+            nightRate = cents(night.getHourlyRate());
+        }
+        long cap = tariff.getDailyCap() == null ? Long.MAX_VALUE : cents(tariff.getDailyCap());
+
+        CompiledTariff compiled = new CompiledTariff(tariff.getGracePeriod() == null ? 0 : tariff.getGracePeriod().toSeconds());
+        for (User.Role role : ROLES) {
+            int discount = tariff.getDiscounts() == null ? 0 : tariff.getDiscounts().getOrDefault(role, 0);
+            if (discount < 0 || discount > 100) {
+                throw new InvalidTariffException("Discounts must be percentages between 0 and 100.");
+            }
+            for (int start = 0; start < HOURS; start++) {
+                long first = 0;
+                long later = 0;
+                for (int charged = 0; charged < HOURS; charged++) {
+                    int index = compiled.index(role.ordinal(), start, charged);
+                    compiled.firstPartial[index] = discounted(Math.min(cap, first), discount);
+                    compiled.laterPartial[index] = discounted(Math.min(cap, later), discount);
+                    int clockHour = (start + charged) % HOURS;
+                    boolean atNight = night != null && isNight(clockHour, night.getStartHour(), night.getEndHour());
+                    first += atNight ? nightRate : firstDayRates[charged];
+                    later += atNight ? nightRate : laterDayRate;
+                }
+                compiled.firstDay[role.ordinal() * HOURS + start] = discounted(Math.min(cap, first), discount);
+                compiled.laterDay[role.ordinal() * HOURS + start] = discounted(Math.min(cap, later), discount);
+            }
+        }
+        return compiled;
+    }
+
+    private static boolean isNight(int hour, int start, int end) {
+        return start > end ? hour >= start || hour < end : hour >= start && hour < end;
+    }
+
+    private static long cents(BigDecimal value) {
+        if (value == null || value.signum() < 0) {
+            throw new InvalidTariffException("Tariff rates must be informed and must not be negative.");
+        }
+        return value.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static long discounted(long cents, int discount) {
+        return (cents * (100 - discount) + 50) / 100;
+    }
+
+    public static final class CompiledTariff {
+        private final long graceSeconds;
+        // [perfil][hora de entrada][horas cobradas] achatado; horas cobradas de 0 a 23
+        private final long[] firstPartial = new long[ROLES.length * HOURS * HOURS];
+        private final long[] laterPartial = new long[ROLES.length * HOURS * HOURS];
+        // [perfil][hora de entrada]; um dia completo de 24 horas
+        private final long[] firstDay = new long[ROLES.length * HOURS];
+        private final long[] laterDay = new long[ROLES.length * HOURS];
+
+        private CompiledTariff(long graceSeconds) {
+            this.graceSeconds = graceSeconds;
+        }
+
+        private int index(int role, int start, int charged) {
+            return (role * HOURS + start) * HOURS + charged;
+        }
+
+        // cobrança por hora iniciada, com mínimo de uma hora fora da carência
+        public long feeCents(User.Role role, LocalDateTime entryDate, LocalDateTime exitDate) {
+            long seconds = exitDate.toEpochSecond(ZoneOffset.UTC) - entryDate.toEpochSecond(ZoneOffset.UTC);
+            if (seconds < graceSeconds) {
+                return 0;
+            }
+            long charged = Math.max(1, (seconds + 3599) / 3600);
+            long days = charged / HOURS;
+            int rest = (int) (charged % HOURS);
+            int start = entryDate.getHour();
+            int r = role.ordinal();
+            if (days == 0) {
+                return firstPartial[index(r, start, rest)];
+            }
+            return firstDay[r * HOURS + start] + (days - 1) * laterDay[r * HOURS + start] + laterPartial[index(r, start, rest)];
+        }
+    }
+}
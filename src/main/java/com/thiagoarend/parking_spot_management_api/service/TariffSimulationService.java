@@ -0,0 +1,146 @@
+package com.thiagoarend.parking_spot_management_api.service;
+
+import com.thiagoarend.parking_spot_management_api.config.TariffProperties;
+import com.thiagoarend.parking_spot_management_api.entity.ParkingTicketArchivePartition;
+import com.thiagoarend.parking_spot_management_api.entity.User;
+import com.thiagoarend.parking_spot_management_api.exception.InvalidPeriodException;
+import com.thiagoarend.parking_spot_management_api.repository.ParkingTicketArchivePartitionRepository;
+import com.thiagoarend.parking_spot_management_api.repository.ParkingTicketArchiveRepository;
+import com.thiagoarend.parking_spot_management_api.repository.ParkingTicketRepository;
+import com.thiagoarend.parking_spot_management_api.repository.projection.TicketStay;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Recálculo em lote do valor dos tickets fechados de um período, vivos e arquivados, com as tarifas configuradas ou com
+ * uma tarifa informada (simulação), comparado ao valor cobrado (auditoria). Os tickets são lidos por faixas de
+ * simulation-slice nas réplicas, o que limita a memória, e cada faixa é calculada em um parallel stream; os totais
+ * por estacionamento são somados em centavos com LongAdder, sem disputa entre as threads.
+ */
+@Slf4j
+@Timed(value = "api.service", histogram = true)
+@Service
+public class TariffSimulationService {
+    private final TariffEngine tariffEngine;
+    private final ParkingTicketRepository parkingTicketRepository;
+    private final ParkingTicketArchiveRepository archiveRepository;
+    private final ParkingTicketArchivePartitionRepository partitionRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final Duration slice;
+    private final Duration maxRange;
+
+    public TariffSimulationService(TariffEngine tariffEngine,
+                                   ParkingTicketRepository parkingTicketRepository,
+                                   ParkingTicketArchiveRepository archiveRepository,
+                                   ParkingTicketArchivePartitionRepository partitionRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   TariffProperties properties,
+                                   @Value("${api.tariffs.simulation-max-range:3660d}") Duration maxRange) {
+        this.tariffEngine = tariffEngine;
+        this.parkingTicketRepository = parkingTicketRepository;
+        this.archiveRepository = archiveRepository;
+        this.partitionRepository = partitionRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.slice = properties.getSimulationSlice();
+        this.maxRange = maxRange;
+    }
+
+    // sem tarifa informada, cada ticket é recalculado com a tarifa atual do seu estacionamento; sem perfil informado, com o
+    // perfil cobrado no check-out do próprio ticket (ROLE_CLIENT nos tickets fechados antes de o perfil ser gravado)
+    public List<LotSimulation> simulate(LocalDateTime from, LocalDateTime to, User.Role role, TariffProperties.Tariff tariff) {
+        if (!from.isBefore(to)) {
+            throw new InvalidPeriodException("The start of the period must be before its end.");
+        }
+        if (Duration.between(from, to).compareTo(maxRange) > 0) {
+            throw new InvalidPeriodException(String.format("The period must not be longer than %d days.", maxRange.toDays()));
+        }
+        TariffEngine.CompiledTariff simulated = tariff == null ? null : TariffEngine.compile(tariff);
+        Map<YearMonth, String> partitions = readOnlyTransactionTemplate.execute(status ->
+                partitionRepository.findByMonthRange(YearMonth.from(from).toString(), YearMonth.from(to.minusNanos(1)).toString())
+                        .stream()
+                        .collect(Collectors.toMap(partition -> YearMonth.parse(partition.getMonth()),
+                                ParkingTicketArchivePartition::getTableName)));
+
+        Map<String, Totals> totals = new ConcurrentHashMap<>();
+        long startNanos = System.nanoTime();
+        for (LocalDateTime start = from; start.isBefore(to); start = start.plus(slice)) {
+            LocalDateTime end = start.plus(slice).isAfter(to) ? to : start.plus(slice);
+            List<TicketStay> stays = readStays(start, end, partitions);
+            stays.parallelStream().forEach(stay -> {
+                User.Role feeRole = role != null ? role : stay.feeRole() != null ? stay.feeRole() : User.Role.ROLE_CLIENT;
+                long fee = simulated == null
+                        ? tariffEngine.feeCents(stay.lot(), feeRole, stay.entryDate(), stay.exitDate())
+                        : simulated.feeCents(feeRole, stay.entryDate(), stay.exitDate());
+                totals.computeIfAbsent(stay.lot(), lot -> new Totals()).add(stay.fee(), fee);
+            });
+        }
+        log.info("Recomputed fees of {} parking tickets from {} to {} in {} ms",
+                totals.values().stream().mapToLong(lot -> lot.tickets.sum()).sum(), from, to,
+                Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+        return totals.entrySet().stream()
+                .map(entry -> entry.getValue().toSimulation(entry.getKey()))
+                .sorted(Comparator.comparing(LotSimulation::lot))
+                .toList();
+    }
+
+    private List<TicketStay> readStays(LocalDateTime from, LocalDateTime to, Map<YearMonth, String> partitions) {
+        return readOnlyTransactionTemplate.execute(status -> {
+            List<TicketStay> stays = new ArrayList<>();
+            try (Stream<TicketStay> live = parkingTicketRepository.streamStaysByExitDate(from, to)) {
+                live.forEach(stays::add);
+            }
+            for (YearMonth month = YearMonth.from(from); !month.atDay(1).atStartOfDay().isAfter(to.minusNanos(1)); month = month.plusMonths(1)) {
+                String table = partitions.get(month);
+                if (table != null) {
+                    stays.addAll(archiveRepository.findStays(table, from, to));
+                }
+            }
+            return stays;
+        });
+    }
+
+    private static class Totals {
+        private final LongAdder tickets = new LongAdder();
+        private final LongAdder recordedCents = new LongAdder();
+        private final LongAdder simulatedCents = new LongAdder();
+        private final LongAdder mismatches = new LongAdder();
+
+        private void add(BigDecimal recorded, long simulated) {
+            long recordedCents = recorded == null ? 0 : recorded.movePointRight(2).longValue();
+            tickets.increment();
+            this.recordedCents.add(recordedCents);
+            simulatedCents.add(simulated);
+            if (recorded == null || recordedCents != simulated) {
+                mismatches.increment();
+            }
+        }
+
+        private LotSimulation toSimulation(String lot) {
+            return new LotSimulation(lot, tickets.sum(), BigDecimal.valueOf(recordedCents.sum(), 2),
+                    BigDecimal.valueOf(simulatedCents.sum(), 2), mismatches.sum());
+        }
+    }
+
+    // mismatches: tickets cujo valor recalculado difere do cobrado (ou que não têm valor cobrado)
+    public record LotSimulation(String lot, long tickets, BigDecimal recordedRevenue, BigDecimal simulatedRevenue,
+                                long mismatches) {
+    }
+}
@@ -0,0 +1,169 @@
+package com.thiagoarend.parking_spot_management_api.service;
+
+import com.thiagoarend.parking_spot_management_api.entity.User;
+import com.thiagoarend.parking_spot_management_api.exception.UsernameUniqueViolationException;
+import com.thiagoarend.parking_spot_management_api.repository.UserRepository;
+import com.thiagoarend.parking_spot_management_api.security.OffloadingPasswordEncoder;
+import com.thiagoarend.parking_spot_management_api.web.dto.UserCreateDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.UserImportResultDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.UserImportResultDto.Status;
+import com.thiagoarend.parking_spot_management_api.web.dto.mapper.UserMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Timed(value = "api.service", histogram = true)
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class UserImportService {
+    public static final int CHUNK_SIZE = 500; // múltiplo do hibernate.jdbc.batch_size
+
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final OffloadingPasswordEncoder passwordEncoder;
+    private final UsernameBloomFilter usernameFilter;
+
+    // lê os itens sob demanda e persiste em blocos, cada bloco em sua própria transação;
+    // blocos já gravados não são desfeitos se um bloco posterior falhar
+    public List<UserImportResultDto> importUsers(Iterator<UserCreateDto> items) {
+        List<UserImportResultDto> results = new ArrayList<>();
+        Set<String> requestUsernames = new HashSet<>();
+        Map<Integer, UserCreateDto> chunk = new LinkedHashMap<>();
+        int index = 0;
+        while (true) {
+            try {
+                if (!items.hasNext()) {
+                    break;
+                }
+            } catch (RuntimeException ex) { // corpo malformado; não é possível continuar a leitura
+                results.add(new UserImportResultDto(index, null, Status.INVALID, null, "Unreadable request body: " + ex.getMessage()));
+                break;
+            }
+            try {
+                chunk.put(index, items.next());
+            } catch (RuntimeException ex) { // item com tipos inválidos; o parser se reposiciona no próximo item
+                results.add(new UserImportResultDto(index, null, Status.INVALID, null, "Unreadable item: " + ex.getMessage()));
+            }
+            index++;
+            if (chunk.size() == CHUNK_SIZE) {
+                importChunk(chunk, requestUsernames, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, requestUsernames, results);
+        }
+        results.sort(Comparator.comparingInt(UserImportResultDto::getIndex));
+        return results;
+    }
+
+    private void importChunk(Map<Integer, UserCreateDto> chunk, Set<String> requestUsernames, List<UserImportResultDto> results) {
+        Map<Integer, UserCreateDto> candidates = new LinkedHashMap<>();
+        chunk.forEach((index, dto) -> {
+            String invalidMessage = validate(dto);
+            if (invalidMessage != null) {
+                results.add(new UserImportResultDto(index, dto == null ? null : dto.getUsername(), Status.INVALID, null, invalidMessage));
+            } else if (!requestUsernames.add(dto.getUsername())) {
+                results.add(new UserImportResultDto(index, dto.getUsername(), Status.CONFLICT, null,
+                        String.format("Username '%s' is duplicated in the request.", dto.getUsername())));
+            } else {
+                candidates.put(index, dto);
+            }
+        });
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        // só os usernames que o filtro de bloom não descarta são consultados no banco
+        List<String> probableDuplicates = candidates.values().stream()
+                .map(UserCreateDto::getUsername)
+                .filter(usernameFilter::mightContain)
+                .toList();
+        // a consulta ignora maiúsculas como a collation do banco; linhas antigas podem ter sido gravadas com outra grafia
+        Set<String> existing = probableDuplicates.isEmpty() ? Set.of() : userRepository.findExistingUsernames(probableDuplicates)
+                .stream().map(UserImportService::normalize).collect(Collectors.toSet());
+        Map<Integer, User> users = new LinkedHashMap<>();
+        candidates.forEach((index, dto) -> {
+            if (existing.contains(normalize(dto.getUsername()))) {
+                results.add(conflict(index, dto.getUsername()));
+            } else {
+                users.put(index, UserMapper.toUser(dto));
+            }
+        });
+        if (users.isEmpty()) {
+            return;
+        }
+        // os hashes do bloco são calculados em paralelo no pool de hash, e não um a um nesta thread
+        Iterator<String> hashes = passwordEncoder.encodeAll(users.values().stream().map(User::getPassword).toList()).iterator();
+        users.values().forEach(user -> user.setPassword(hashes.next()));
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                userRepository.saveAll(users.values()); // ids vêm da sequência em memória; os inserts são enviados em batch no flush
+                userRepository.flush(); // pelo repositório a violação de unicidade é traduzida para DataIntegrityViolationException
+                entityManager.clear();
+            });
+            users.forEach((index, user) -> {
+                usernameFilter.put(user.getUsername());
+                results.add(new UserImportResultDto(index, user.getUsername(), Status.CREATED, user.getId(), null));
+            });
+        } catch (DataIntegrityViolationException ex) {
+            // outro cadastro concorrente usou um dos usernames entre a verificação e o insert; refaz o bloco item a item
+            log.warn("Batch insert of {} users rolled back, retrying one by one", users.size());
+            users.keySet().forEach(index -> results.add(saveOne(index, candidates.get(index))));
+        }
+    }
+
+    private UserImportResultDto saveOne(int index, UserCreateDto dto) {
+        try {
+            User persistedUser = userService.save(UserMapper.toUser(dto));
+            return new UserImportResultDto(index, persistedUser.getUsername(), Status.CREATED, persistedUser.getId(), null);
+        } catch (UsernameUniqueViolationException ex) {
+            return conflict(index, dto.getUsername());
+        }
+    }
+
+    private String validate(UserCreateDto dto) {
+        if (dto == null) {
+            return "Item must not be null.";
+        }
+        Set<ConstraintViolation<UserCreateDto>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static UserImportResultDto conflict(int index, String username) {
+        return new UserImportResultDto(index, username, Status.CONFLICT, null,
+                String.format("Username '%s' is already in use.", username));
+    }
+
+    private static String normalize(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
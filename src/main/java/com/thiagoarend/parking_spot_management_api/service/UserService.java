@@ -1,31 +1,82 @@
 package com.thiagoarend.parking_spot_management_api.service;
 
+import com.thiagoarend.parking_spot_management_api.datasource.DataSourceRouting;
 import com.thiagoarend.parking_spot_management_api.entity.User;
 import com.thiagoarend.parking_spot_management_api.exception.EntityNotFoundException;
 import com.thiagoarend.parking_spot_management_api.exception.PasswordInvalidException;
 import com.thiagoarend.parking_spot_management_api.exception.UsernameUniqueViolationException;
 import com.thiagoarend.parking_spot_management_api.repository.UserRepository;
+import com.thiagoarend.parking_spot_management_api.repository.projection.UserSummary;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+// cada método público gera o timer api.service, com as tags class e method e histograma de latência
+@Timed(value = "api.service", histogram = true)
+@Slf4j
 @RequiredArgsConstructor
 @Service // transforma a classe em um bean gerenciado pelo spring
 public class UserService {
+    public static final String USERS_CACHE = "users";
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
     private final UserRepository userRepository; // injeção por construtor é feita na construção do objeto; é gerenciada pelo spring
+    private final PasswordEncoder passwordEncoder;
+    private final UsernameBloomFilter usernameFilter;
+    private final TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void loadUsernameFilter() {
+        long count = transactionTemplate.execute(status -> {
+            try (Stream<String> usernames = userRepository.streamAllUsernames()) {
+                return usernames.peek(usernameFilter::put).count();
+            }
+        });
+        log.info("Username bloom filter loaded with {} usernames", count);
+    }
 
     @Transactional // spring toma conta da transação; cuida do recurso (abrir, gerenciar, fechar transação)
     public User save(User user) {
+        // duplicidade confirmada antes do hash da senha; quando o filtro garante que o username é novo nem a consulta é feita
+        if (!isAvailable(user.getUsername())) {
+            throw usernameInUse(user.getUsername());
+        }
         try {
-            return userRepository.save(user);
-        } catch(DataIntegrityViolationException ex) {
-            throw new UsernameUniqueViolationException(String.format("Username '%s' is already in use.", user.getUsername()));
+            user.setPassword(passwordEncoder.encode(user.getPassword()));
+            User persistedUser = userRepository.saveAndFlush(user); // com id por sequência o insert é adiado até o commit; o flush antecipa a violação de unicidade
+            usernameFilter.put(persistedUser.getUsername()); // um rollback posterior deixa apenas um falso positivo, confirmado no banco
+            return persistedUser;
+        } catch(DataIntegrityViolationException ex) { // cadastro concorrente ou feito por outra instância, ainda fora do filtro
+            usernameFilter.put(user.getUsername());
+            throw usernameInUse(user.getUsername());
         }
     }
 
+    // o filtro só conhece os usernames gravados por esta instância e os carregados na inicialização;
+    // um "disponível" é uma indicação, a garantia continua sendo o índice único do banco
+    @Transactional(readOnly = true)
+    public boolean isAvailable(String username) {
+        return !usernameFilter.mightContain(username) || !userRepository.existsByUsername(username);
+    }
+
+    private static UsernameUniqueViolationException usernameInUse(String username) {
+        return new UsernameUniqueViolationException(String.format("Username '%s' is already in use.", username));
+    }
+
     @Transactional(readOnly = true) // método exclusivo para consulta no banco de dados
     public User findById(Long id) {
         return userRepository.findById(id).orElseThrow(
@@ -33,6 +84,20 @@ public class UserService {
         );
     }
 
+    // leitura cacheada com a versão, que gera o etag; exceções (usuário inexistente) não são armazenadas. O valor fica
+    // no cache por todo o ttl, por isso é lido no primário: logo após a evicção, uma réplica atrasada ainda teria a
+    // versão anterior
+    @Cacheable(cacheNames = USERS_CACHE, key = "#id")
+    @Transactional(readOnly = true)
+    public UserSummary findSummaryById(Long id) {
+        try (DataSourceRouting.Scope scope = DataSourceRouting.open(true)) {
+            return userRepository.findSummaryById(id).orElseThrow(
+                    () -> new EntityNotFoundException(String.format("User with id '%s' was not found.", id))
+            );
+        }
+    }
+
+    @CacheEvict(cacheNames = USERS_CACHE, key = "#id")
     @Transactional
     public User updatePassword(Long id, String currentPassword, String newPassword, String confirmPassword) {
         if (!newPassword.equals(confirmPassword)) {
@@ -40,16 +105,29 @@ public class UserService {
         }
 
         User persistedUser = findById(id); // persistedUser esta em estado 'persistente', no qual o hibernate controla o objeto, por isso o update nao é necessário e o set da senha no objeto resolve
-        if (!currentPassword.equals(persistedUser.getPassword())) {
+        if (!passwordEncoder.matches(currentPassword, persistedUser.getPassword())) {
             throw new PasswordInvalidException("Wrong current password value.");
         }
 
-        persistedUser.setPassword(newPassword); // poderia salvar manualmente em problemas, mas o hibernate já faz isso
+        persistedUser.setPassword(passwordEncoder.encode(newPassword)); // poderia salvar manualmente em problemas, mas o hibernate já faz isso
         return persistedUser;
     }
 
     @Transactional(readOnly = true)
-    public List<User> findAll() {
-        return userRepository.findAll();
+    public List<UserSummary> findAll(Long cursor, int size) {
+        return userRepository.findSummariesByIdGreaterThan(cursor == null ? 0L : cursor, Limit.of(pageSize(size)));
+    }
+
+    public static int pageSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE); // página sempre limitada, independente do que o cliente pedir
+    }
+
+    @Transactional(readOnly = true)
+    public void forEach(Consumer<UserSummary> action) {
+        // o stream segura o cursor aberto e precisa ser fechado; projeções não entram no contexto de persistência,
+        // então o uso de memória fica constante sem detach
+        try (Stream<UserSummary> users = userRepository.streamAllSummaries()) {
+            users.forEach(action);
+        }
     }
 }
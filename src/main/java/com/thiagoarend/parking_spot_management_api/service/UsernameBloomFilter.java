@@ -0,0 +1,91 @@
+package com.thiagoarend.parking_spot_management_api.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// filtro de bloom dos usernames cadastrados: "não contém" é certo para tudo que passou por put, "talvez contenha" precisa
+// ser confirmado no banco; os bits só são ligados, nunca desligados, então não há falso negativo com escritas concorrentes.
+// A collation do mysql não diferencia maiúsculas de minúsculas, por isso o filtro também não: o username é normalizado
+@Slf4j
+@Component
+public class UsernameBloomFilter {
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final long expectedInsertions;
+    private final LongAdder insertions = new LongAdder();
+
+    public UsernameBloomFilter(@Value("${api.users.bloom-filter.expected-insertions:1000000}") long expectedInsertions,
+                               @Value("${api.users.bloom-filter.false-positive-probability:0.01}") double falsePositiveProbability) {
+        // m = -n ln(p) / ln(2)^2 bits e k = m/n ln(2) funções de hash minimizam os falsos positivos para n inserções
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.max(1, (bits + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = wordCount * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        this.expectedInsertions = expectedInsertions;
+        log.info("Username bloom filter sized to {} KB with {} hash functions", wordCount * 8L / 1024, hashCount);
+    }
+
+    public void put(String username) {
+        long hash = hash(username);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0) { // compare-and-set só quando o bit ainda está desligado
+                long witness = words.compareAndExchange(word, current, current | mask);
+                if (witness == current) {
+                    break;
+                }
+                current = witness;
+            }
+        }
+        insertions.increment();
+        if (insertions.sum() == expectedInsertions + 1) {
+            log.warn("Username bloom filter exceeded {} expected insertions; false positive rate will grow", expectedInsertions);
+        }
+    }
+
+    public boolean mightContain(String username) {
+        long hash = hash(username);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // k posições derivadas de dois hashes de 32 bits (h1 + i * h2), sem recalcular o hash para cada função
+    private long index(int combined) {
+        return (combined & 0xffffffffL) % bitCount;
+    }
+
+    // fnv-1a sobre os caracteres, em minúsculas, seguido da finalização do murmur3 para espalhar os bits nas duas metades
+    private static long hash(String username) {
+        String value = username.toLowerCase(Locale.ROOT);
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
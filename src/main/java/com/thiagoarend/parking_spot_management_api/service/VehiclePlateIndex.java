@@ -0,0 +1,112 @@
+package com.thiagoarend.parking_spot_management_api.service;
+
+import com.thiagoarend.parking_spot_management_api.entity.ParkingTicket;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Placas dos veículos com ticket aberto, normalizadas e ordenadas, apontando para o ticket em memória; a cancela de
+ * saída consulta apenas este índice, sem acessar o banco. A ordenação permite a busca por prefixo (leituras parciais do
+ * OCR) e a busca aproximada gera as variantes a uma edição da placa lida (remoção, troca ou inserção de um caractere),
+ * cada uma resolvida com uma busca no mapa.
+ */
+@Component
+public class VehiclePlateIndex {
+    private static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+
+    private final ConcurrentSkipListMap<String, ParkingTicket> activeTickets = new ConcurrentSkipListMap<>();
+
+    public enum MatchType {
+        EXACT, PREFIX, FUZZY
+    }
+
+    public record Match(MatchType type, ParkingTicket ticket) {
+    }
+
+    // apenas letras e dígitos, em maiúsculas; hífens, espaços e ruídos da leitura são descartados
+    public static String normalize(String plate) {
+        StringBuilder normalized = new StringBuilder(plate.length());
+        for (int i = 0; i < plate.length(); i++) {
+            char c = Character.toUpperCase(plate.charAt(i));
+            if ((c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString();
+    }
+
+    public void put(ParkingTicket ticket) {
+        activeTickets.put(ticket.getPlate(), ticket);
+    }
+
+    // remove apenas se a placa ainda aponta para o mesmo ticket
+    public void remove(ParkingTicket ticket) {
+        activeTickets.remove(ticket.getPlate(), ticket);
+    }
+
+    public ParkingTicket find(String plate) {
+        return activeTickets.get(normalize(plate));
+    }
+
+    public int size() {
+        return activeTickets.size();
+    }
+
+    // correspondência exata, depois placas que começam com o texto lido e, por último, placas a uma edição de distância
+    public List<Match> search(String plate, int limit) {
+        String query = normalize(plate);
+        Map<String, Match> matches = new LinkedHashMap<>();
+        if (query.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        ParkingTicket exact = activeTickets.get(query);
+        if (exact != null) {
+            matches.put(query, new Match(MatchType.EXACT, exact));
+        }
+        for (Map.Entry<String, ParkingTicket> entry : activeTickets.subMap(query, false, query + Character.MAX_VALUE, false).entrySet()) {
+            if (matches.size() >= limit) {
+                return new ArrayList<>(matches.values());
+            }
+            matches.put(entry.getKey(), new Match(MatchType.PREFIX, entry.getValue()));
+        }
+        for (String variant : variants(query)) {
+            if (matches.size() >= limit) {
+                break;
+            }
+            ParkingTicket ticket = activeTickets.get(variant);
+            if (ticket != null) {
+                matches.putIfAbsent(variant, new Match(MatchType.FUZZY, ticket));
+            }
+        }
+        return new ArrayList<>(matches.values());
+    }
+
+    private static List<String> variants(String query) {
+        List<String> variants = new ArrayList<>();
+        char[] chars = query.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            variants.add(query.substring(0, i) + query.substring(i + 1)); // caractere a mais na leitura
+        }
+        for (int i = 0; i < chars.length; i++) {
+            char original = chars[i];
+            for (int j = 0; j < ALPHABET.length(); j++) {
+                if (ALPHABET.charAt(j) != original) {
+                    chars[i] = ALPHABET.charAt(j); // caractere lido errado
+                    variants.add(new String(chars));
+                }
+            }
+            chars[i] = original;
+        }
+        for (int i = 0; i <= chars.length; i++) {
+            for (int j = 0; j < ALPHABET.length(); j++) {
+                variants.add(query.substring(0, i) + ALPHABET.charAt(j) + query.substring(i)); // caractere não lido
+            }
+        }
+        return variants;
+    }
+}
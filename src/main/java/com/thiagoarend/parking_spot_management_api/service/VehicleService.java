@@ -0,0 +1,35 @@
+package com.thiagoarend.parking_spot_management_api.service;
+
+import com.thiagoarend.parking_spot_management_api.entity.ParkingTicket;
+import com.thiagoarend.parking_spot_management_api.exception.EntityNotFoundException;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+// consultas das cancelas pela placa lida; respondidas pelo índice em memória dos veículos com ticket aberto
+@Timed(value = "api.service", histogram = true)
+@Service
+public class VehicleService {
+    private final VehiclePlateIndex plateIndex;
+    private final int maxResults;
+
+    public VehicleService(VehiclePlateIndex plateIndex, @Value("${api.vehicles.search.max-results:20}") int maxResults) {
+        this.plateIndex = plateIndex;
+        this.maxResults = maxResults;
+    }
+
+    public ParkingTicket findActiveTicket(String plate) {
+        ParkingTicket ticket = plateIndex.find(plate);
+        if (ticket == null) {
+            throw new EntityNotFoundException(String.format("No open ticket was found for vehicle '%s'.",
+                    VehiclePlateIndex.normalize(plate)));
+        }
+        return ticket;
+    }
+
+    public List<VehiclePlateIndex.Match> search(String plate, int limit) {
+        return plateIndex.search(plate, Math.min(limit, maxResults));
+    }
+}
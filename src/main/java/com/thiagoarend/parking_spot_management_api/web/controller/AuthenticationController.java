@@ -0,0 +1,74 @@
+package com.thiagoarend.parking_spot_management_api.web.controller;
+
+import com.thiagoarend.parking_spot_management_api.jwt.JwtToken;
+import com.thiagoarend.parking_spot_management_api.jwt.JwtUserDetails;
+import com.thiagoarend.parking_spot_management_api.jwt.JwtUtils;
+import com.thiagoarend.parking_spot_management_api.web.dto.UserLoginDto;
+import com.thiagoarend.parking_spot_management_api.web.exception.ErrorMessage;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@Tag(name = "Authentication", description = "Holds operations for authenticating users and issuing access tokens.")
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("api/v1/auth")
+public class AuthenticationController {
+    private final AuthenticationManager authenticationManager;
+    private final JwtUtils jwtUtils;
+
+    @Operation(
+            summary = "Authenticate a user",
+            description = "Resource for authenticating a user and issuing a bearer token to be sent in the Authorization header",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Authentication performed successfully and token issued",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = JwtToken.class))),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid credentials",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(
+                            responseCode = "422",
+                            description = "Resource not processed due to invalid input field values",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @PostMapping
+    public ResponseEntity<?> authenticate(@Valid @RequestBody UserLoginDto dto, HttpServletRequest request) {
+        try {
+            Authentication authentication = authenticationManager.authenticate(
+                    UsernamePasswordAuthenticationToken.unauthenticated(dto.getUsername(), dto.getPassword()));
+            JwtUserDetails userDetails = (JwtUserDetails) authentication.getPrincipal();
+            return ResponseEntity.ok(jwtUtils.createToken(userDetails.getId(), userDetails.getUsername(), userDetails.getRole()));
+        } catch (AuthenticationException ex) {
+            log.warn("Bad credentials for username '{}'", dto.getUsername());
+        }
+        return ResponseEntity
+                .badRequest()
+                .body(new ErrorMessage(request, HttpStatus.BAD_REQUEST, "Invalid credentials"));
+    }
+}
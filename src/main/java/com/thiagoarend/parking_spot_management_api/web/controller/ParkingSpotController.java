@@ -0,0 +1,252 @@
+package com.thiagoarend.parking_spot_management_api.web.controller;
+
+import com.thiagoarend.parking_spot_management_api.entity.ParkingSpot;
+import com.thiagoarend.parking_spot_management_api.service.ParkingSpotService;
+import com.thiagoarend.parking_spot_management_api.web.dto.ParkingSpotAvailabilityDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.ParkingSpotCreateDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.ParkingSpotResponseDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.mapper.ParkingSpotMapper;
+import com.thiagoarend.parking_spot_management_api.web.exception.ErrorMessage;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+@Tag(name = "Parking spots", description = "Holds operations for registering parking spots and managing their occupancy.")
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("api/v1/parking-spots")
+public class ParkingSpotController {
+    private final ParkingSpotService parkingSpotService;
+
+    @Operation(
+            summary = "Create a new parking spot",
+            security = @SecurityRequirement(name = "security"),
+            description = "Resource for registering a new parking spot in a lot level",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "201",
+                            description = "Resource created successfully",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ParkingSpotResponseDto.class))),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "User without permission to access this resource",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(
+                            responseCode = "409",
+                            description = "Resource not processed due to duplicated spot code",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(
+                            responseCode = "422",
+                            description = "Resource not processed due to invalid input field values",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping
+    public ResponseEntity<ParkingSpotResponseDto> create(@Valid @RequestBody ParkingSpotCreateDto dto) {
+        ParkingSpot persistedSpot = parkingSpotService.save(ParkingSpotMapper.toParkingSpot(dto));
+        return ResponseEntity.status(HttpStatus.CREATED).body(ParkingSpotMapper.toDto(persistedSpot));
+    }
+
+    @Operation(
+            summary = "Retrieve a parking spot by code",
+            security = @SecurityRequirement(name = "security"),
+            description = "Resource for retrieving a parking spot and its current occupancy",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Resource retrieved successfully",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ParkingSpotResponseDto.class))),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "User without permission to access this resource",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Resource not found",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/{code}")
+    public ResponseEntity<ParkingSpotResponseDto> getByCode(@PathVariable String code) {
+        return ResponseEntity.ok(ParkingSpotMapper.toDto(parkingSpotService.findByCode(code)));
+    }
+
+    @Operation(
+            summary = "Occupy any free parking spot",
+            security = @SecurityRequirement(name = "security"),
+            description = "Resource for manually occupying the first free parking spot of a lot, optionally restricted to a level; the spot stays occupied across restarts until it is released",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Parking spot occupied successfully",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ParkingSpotResponseDto.class))),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "User without permission to access this resource",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "No free parking spot available",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/occupation")
+    public ResponseEntity<ParkingSpotResponseDto> occupyFree(@RequestParam String lot, @RequestParam(required = false) Integer level) {
+        return ResponseEntity.ok(ParkingSpotMapper.toDto(parkingSpotService.holdFree(lot, level)));
+    }
+
+    @Operation(
+            summary = "Occupy a parking spot",
+            security = @SecurityRequirement(name = "security"),
+            description = "Resource for manually occupying a specific parking spot; the spot stays occupied across restarts until it is released",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Parking spot occupied successfully",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ParkingSpotResponseDto.class))),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "User without permission to access this resource",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Resource not found",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(
+                            responseCode = "409",
+                            description = "Parking spot already occupied",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/{code}/occupation")
+    public ResponseEntity<ParkingSpotResponseDto> occupy(@PathVariable String code) {
+        return ResponseEntity.ok(ParkingSpotMapper.toDto(parkingSpotService.hold(code)));
+    }
+
+    @Operation(
+            summary = "Release a parking spot",
+            security = @SecurityRequirement(name = "security"),
+            description = "Resource for releasing an occupied parking spot",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Parking spot released successfully",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ParkingSpotResponseDto.class))),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "User without permission to access this resource",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Resource not found",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(
+                            responseCode = "409",
+                            description = "Parking spot already free",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping("/{code}/occupation")
+    public ResponseEntity<ParkingSpotResponseDto> release(@PathVariable String code) {
+        return ResponseEntity.ok(ParkingSpotMapper.toDto(parkingSpotService.release(code)));
+    }
+
+    @Operation(
+            summary = "Retrieve the availability of a lot",
+            security = @SecurityRequirement(name = "security"),
+            description = "Resource for retrieving free and total parking spots per level of a lot",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Resource retrieved successfully",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    array = @ArraySchema(
+                                            schema = @Schema(implementation = ParkingSpotAvailabilityDto.class))))
+            })
+    @GetMapping("/availability")
+    public ResponseEntity<List<ParkingSpotAvailabilityDto>> getAvailability(@RequestParam String lot) {
+        return ResponseEntity.ok(ParkingSpotMapper.toAvailabilityListDto(parkingSpotService.availability(lot)));
+    }
+
+    @Operation(
+            summary = "Stream the availability of a lot",
+            security = @SecurityRequirement(name = "security"),
+            description = "Server-sent events resource that sends free and total parking spots of every level of a lot, " +
+                    "then only the levels that changed, at most once per update interval. Comment events keep idle " +
+                    "connections alive",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Resource streamed successfully",
+                            content = @Content(
+                                    mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                                    array = @ArraySchema(
+                                            schema = @Schema(implementation = ParkingSpotAvailabilityDto.class))))
+            })
+    @GetMapping(value = "/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<List<ParkingSpotAvailabilityDto>>> streamAvailability(@RequestParam String lot) {
+        return parkingSpotService.availabilityUpdates(lot)
+                .map(levels -> levels.isEmpty()
+                        ? ServerSentEvent.<List<ParkingSpotAvailabilityDto>>builder().comment("keepalive").build()
+                        : ServerSentEvent.builder(ParkingSpotMapper.toAvailabilityListDto(levels)).event("availability").build());
+    }
+}
@@ -0,0 +1,365 @@
+package com.thiagoarend.parking_spot_management_api.web.controller;
+
+import com.thiagoarend.parking_spot_management_api.entity.ParkingTicket;
+import com.thiagoarend.parking_spot_management_api.entity.User;
+import com.thiagoarend.parking_spot_management_api.jwt.JwtAuthenticatedUser;
+import com.thiagoarend.parking_spot_management_api.service.ParkingTicketArchiveService;
+import com.thiagoarend.parking_spot_management_api.service.ParkingTicketService;
+import com.thiagoarend.parking_spot_management_api.service.TariffSimulationService;
+import com.thiagoarend.parking_spot_management_api.web.dto.ParkingFeeDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.ParkingLotStatsDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.ParkingTicketCheckInDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.ParkingTicketResponseDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.TariffDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.TariffSimulationDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.mapper.ParkingTicketMapper;
+import com.thiagoarend.parking_spot_management_api.web.dto.mapper.TariffMapper;
+import com.thiagoarend.parking_spot_management_api.web.exception.ErrorMessage;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Tag(name = "Parking tickets", description = "Holds operations for vehicle check-in and check-out.")
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("api/v1/parking-tickets")
+public class ParkingTicketController {
+    private final ParkingTicketService parkingTicketService;
+    private final ParkingTicketArchiveService parkingTicketArchiveService;
+    private final TariffSimulationService tariffSimulationService;
+
+    @Operation(
+            summary = "Check in a vehicle",
+            security = @SecurityRequirement(name = "security"),
+            description = "Resource for opening a ticket on the first free parking spot of a lot, optionally restricted to a level",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "201",
+                            description = "Ticket opened successfully",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ParkingTicketResponseDto.class))),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "User without permission to access this resource",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "No free parking spot available",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(
+                            responseCode = "409",
+                            description = "Vehicle already has an open ticket",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(
+                            responseCode = "422",
+                            description = "Resource not processed due to invalid input field values",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/check-in")
+    public ResponseEntity<ParkingTicketResponseDto> checkIn(@Valid @RequestBody ParkingTicketCheckInDto dto) {
+        ParkingTicket ticket = parkingTicketService.checkIn(dto.getPlate(), dto.getLot(), dto.getLevel());
+        return ResponseEntity.status(HttpStatus.CREATED).body(ParkingTicketMapper.toDto(ticket));
+    }
+
+    @Operation(
+            summary = "Check out a ticket",
+            security = @SecurityRequirement(name = "security"),
+            description = "Resource for closing an open ticket and releasing its parking spot",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Ticket closed successfully",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ParkingTicketResponseDto.class))),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "User without permission to access this resource",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Resource not found",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(
+                            responseCode = "409",
+                            description = "Ticket already closed",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/{id}/check-out")
+    public ResponseEntity<ParkingTicketResponseDto> checkOut(@PathVariable String id,
+                                                             @RequestParam(defaultValue = "ROLE_CLIENT") User.Role role) {
+        return ResponseEntity.ok(ParkingTicketMapper.toDto(parkingTicketService.checkOut(id, role)));
+    }
+
+    @Operation(
+            summary = "Check out a vehicle",
+            security = @SecurityRequirement(name = "security"),
+            description = "Resource for closing the open ticket of a vehicle plate and releasing its parking spot",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Ticket closed successfully",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ParkingTicketResponseDto.class))),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "User without permission to access this resource",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "No open ticket for the vehicle",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/check-out")
+    public ResponseEntity<ParkingTicketResponseDto> checkOutByPlate(@RequestParam String plate,
+                                                                    @RequestParam(defaultValue = "ROLE_CLIENT") User.Role role) {
+        return ResponseEntity.ok(ParkingTicketMapper.toDto(parkingTicketService.checkOutByPlate(plate, role)));
+    }
+
+    @Operation(
+            summary = "Retrieve a ticket by id",
+            security = @SecurityRequirement(name = "security"),
+            description = "Resource for retrieving an open or closed ticket",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Resource retrieved successfully",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ParkingTicketResponseDto.class))),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "User without permission to access this resource",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Resource not found",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/{id}")
+    public ResponseEntity<ParkingTicketResponseDto> getById(@PathVariable String id) {
+        return ResponseEntity.ok(ParkingTicketMapper.toDto(parkingTicketService.findById(id)));
+    }
+
+    @Operation(
+            summary = "Retrieve hourly statistics of a lot",
+            security = @SecurityRequirement(name = "security"),
+            description = "Resource for retrieving check-ins, check-outs, average stay, occupancy rate and revenue of a lot " +
+                    "for every hour of a period, read from precomputed aggregates",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Resource retrieved successfully",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    array = @ArraySchema(
+                                            schema = @Schema(implementation = ParkingLotStatsDto.class)))),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid or too long period",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "User without permission to access this resource",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/stats")
+    public ResponseEntity<List<ParkingLotStatsDto>> getStats(
+            @RequestParam String lot,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(ParkingTicketMapper.toStatsListDto(parkingTicketService.stats(lot, from, to)));
+    }
+
+    @Operation(
+            summary = "Rebuild hourly statistics",
+            security = @SecurityRequirement(name = "security"),
+            description = "Resource for recomputing the hourly aggregates of every lot in a period from the tickets",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "204",
+                            description = "Aggregates rebuilt successfully"),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid period",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "User without permission to access this resource",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/stats/rebuild")
+    public ResponseEntity<Void> rebuildStats(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        parkingTicketService.rebuildStats(from, to);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(
+            summary = "Search archived tickets",
+            security = @SecurityRequirement(name = "security"),
+            description = "Resource for retrieving closed tickets moved to the archive, by exit date period and optionally " +
+                    "by plate and lot, most recent first. The monthly partitions of the period are queried in parallel",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Resource retrieved successfully",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    array = @ArraySchema(
+                                            schema = @Schema(implementation = ParkingTicketResponseDto.class)))),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid or too long period",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "User without permission to access this resource",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/archive")
+    public ResponseEntity<List<ParkingTicketResponseDto>> searchArchive(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String plate,
+            @RequestParam(required = false) String lot,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(parkingTicketArchiveService.search(from, to, plate, lot, limit).stream()
+                .map(ParkingTicketMapper::toDto)
+                .toList());
+    }
+
+    @Operation(
+            summary = "Retrieve how much a ticket owes",
+            security = @SecurityRequirement(name = "security"),
+            description = "Resource for retrieving the fee charged on a closed ticket, or the fee of an open ticket until now " +
+                    "under the lot tariff with the discount of the authenticated user's role",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Resource retrieved successfully",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ParkingFeeDto.class))),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Resource not found",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @PreAuthorize("hasAnyRole('ADMIN', 'CLIENT')")
+    @GetMapping("/{id}/fee")
+    public ResponseEntity<ParkingFeeDto> getFee(@PathVariable String id, @AuthenticationPrincipal JwtAuthenticatedUser user) {
+        return ResponseEntity.ok(ParkingTicketMapper.toDto(parkingTicketService.quote(id, user.getRole())));
+    }
+
+    @Operation(
+            summary = "Recompute fees of a period",
+            security = @SecurityRequirement(name = "security"),
+            description = "Resource for recomputing, per lot, the fees of the live and archived tickets closed in a period and " +
+                    "comparing them with the charged fees. Uses the configured tariffs, or the tariff in the body for all lots, " +
+                    "and the role charged at each ticket's check-out unless a role is given",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Fees recomputed successfully",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    array = @ArraySchema(
+                                            schema = @Schema(implementation = TariffSimulationDto.class)))),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid period or tariff",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "User without permission to access this resource",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(
+                            responseCode = "422",
+                            description = "Resource not processed due to invalid input field values",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/fees/simulation")
+    public ResponseEntity<List<TariffSimulationDto>> simulateFees(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) User.Role role,
+            @Valid @RequestBody(required = false) TariffDto dto) {
+        return ResponseEntity.ok(TariffMapper.toSimulationListDto(tariffSimulationService.simulate(from, to, role,
+                dto == null ? null : TariffMapper.toTariff(dto))));
+    }
+}
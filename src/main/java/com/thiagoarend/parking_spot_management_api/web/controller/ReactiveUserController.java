@@ -0,0 +1,181 @@
+package com.thiagoarend.parking_spot_management_api.web.controller;
+
+import com.thiagoarend.parking_spot_management_api.service.ReactiveUserService;
+import com.thiagoarend.parking_spot_management_api.service.UserService;
+import com.thiagoarend.parking_spot_management_api.web.dto.UserCreateDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.UserPasswordDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.UserResponseDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.mapper.UserMapper;
+import com.thiagoarend.parking_spot_management_api.web.exception.ErrorMessage;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// não bloqueante: o spring mvc trata Mono/Flux como processamento assíncrono, então a thread da requisição é liberada
+// enquanto o r2dbc aguarda o banco (ou a escrita roda no pool da aplicação), e o Flux é escrito item a item conforme o
+// cliente consome
+@Tag(name = "Users (reactive)", description = "Holds non-blocking operations for creating, reading and updating user's information.")
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("api/v1/reactive/users")
+public class ReactiveUserController {
+    private final ReactiveUserService reactiveUserService;
+
+    @Operation(
+            summary = "Create a new user",
+            description = "Non-blocking resource for creating a new user",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "201",
+                            description = "Resource created successfully",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = UserResponseDto.class))),
+                    @ApiResponse(
+                            responseCode = "409",
+                            description = "Resource not processed due to duplicated e-mail",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(
+                            responseCode = "422",
+                            description = "Resource not processed due to invalid input field values",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @PostMapping
+    public Mono<ResponseEntity<UserResponseDto>> create(@Valid @RequestBody UserCreateDto dto) {
+        return reactiveUserService.save(UserMapper.toUser(dto))
+                .map(persistedUser -> ResponseEntity.status(HttpStatus.CREATED).body(UserMapper.toDto(persistedUser)));
+    }
+
+    @Operation(
+            summary = "Retrieve a user by id",
+            security = @SecurityRequirement(name = "security"),
+            description = "Non-blocking resource for retrieving a user by id",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Resource retrieved successfully",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = UserResponseDto.class))),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "User without permission to access this resource",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Resource not found",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @PreAuthorize("hasRole('ADMIN') OR (hasRole('CLIENT') AND #id == authentication.principal.id)")
+    @GetMapping("/{id}")
+    public Mono<UserResponseDto> getById(@PathVariable Long id) {
+        return reactiveUserService.findById(id).map(UserMapper::toDto);
+    }
+
+    @Operation(
+            summary = "Update a user password",
+            security = @SecurityRequirement(name = "security"),
+            description = "Non-blocking resource for updating the password of a user",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "204",
+                            description = "Resource updated successfully",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = Void.class))),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Password does not match",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "User without permission to access this resource",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Resource not found",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(
+                            responseCode = "409",
+                            description = "User modified by a concurrent request",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(
+                            responseCode = "422",
+                            description = "Resource not processed due to invalid input field values",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @PreAuthorize("hasRole('ADMIN') OR (hasRole('CLIENT') AND #id == authentication.principal.id)")
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<Void>> updatePassword(@PathVariable Long id, @Valid @RequestBody UserPasswordDto dto) {
+        return reactiveUserService.updatePassword(id, dto.getCurrentPassword(), dto.getNewPassword(), dto.getConfirmPassword())
+                .map(persistedUser -> ResponseEntity.noContent().eTag(UserController.versionETag(persistedUser.getVersion())).build());
+    }
+
+    @Operation(
+            summary = "Stream a page of users",
+            security = @SecurityRequirement(name = "security"),
+            description = "Non-blocking resource for streaming users ordered by id as newline-delimited JSON. " +
+                    "The id of the last user received is the 'cursor' of the next page",
+            parameters = {
+                    @Parameter(name = "cursor", description = "Id of the last user of the previous page"),
+                    @Parameter(name = "size", description = "Page size, limited to " + UserService.MAX_PAGE_SIZE)
+            },
+            responses = {
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "User without permission to access this resource",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Resource streamed successfully",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    schema = @Schema(implementation = UserResponseDto.class)))
+            })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<UserResponseDto> getAll(@RequestParam(required = false) Long cursor,
+                                        @RequestParam(defaultValue = "" + UserService.DEFAULT_PAGE_SIZE) int size) {
+        return reactiveUserService.findAll(cursor, size).map(UserMapper::toDto);
+    }
+}
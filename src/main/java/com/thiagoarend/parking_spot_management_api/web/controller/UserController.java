@@ -1,30 +1,47 @@
 package com.thiagoarend.parking_spot_management_api.web.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.thiagoarend.parking_spot_management_api.entity.User;
+import com.thiagoarend.parking_spot_management_api.repository.projection.UserSummary;
+import com.thiagoarend.parking_spot_management_api.service.UserImportService;
 import com.thiagoarend.parking_spot_management_api.service.UserService;
+import com.thiagoarend.parking_spot_management_api.web.dto.UserAvailabilityDto;
 import com.thiagoarend.parking_spot_management_api.web.dto.UserCreateDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.UserImportResultDto;
 import com.thiagoarend.parking_spot_management_api.web.dto.UserPasswordDto;
 import com.thiagoarend.parking_spot_management_api.web.dto.UserResponseDto;
 import com.thiagoarend.parking_spot_management_api.web.dto.mapper.UserMapper;
 import com.thiagoarend.parking_spot_management_api.web.exception.ErrorMessage;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 // '@Tag' identifica o recurso no swagger de maneira geral
@@ -33,7 +50,11 @@ import java.util.List;
 @RestController // bean gerenciavel pelo spring
 @RequestMapping("api/v1/users")
 public class UserController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final UserService userService; // o atributo final força uma injeção do tipo injeção por construtor
+    private final UserImportService userImportService;
+    private final ObjectMapper objectMapper;
 
     @Operation(
             summary = "Create a new user",
@@ -64,16 +85,82 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.CREATED).body(UserMapper.toDto(persistedUser));
     }
 
+    @Operation(
+            summary = "Create users in bulk",
+            security = @SecurityRequirement(name = "security"),
+            description = "Resource for importing many users at once. The body is either a JSON array or newline-delimited JSON, " +
+                    "read and persisted in chunks; the response reports the outcome of each item by its position in the body",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    content = {
+                            @Content(
+                                    mediaType = "application/json",
+                                    array = @ArraySchema(schema = @Schema(implementation = UserCreateDto.class))),
+                            @Content(
+                                    mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    schema = @Schema(implementation = UserCreateDto.class))
+                    }),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "User without permission to access this resource",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Request processed; each item is reported as CREATED, CONFLICT or INVALID",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    array = @ArraySchema(
+                                            schema = @Schema(implementation = UserImportResultDto.class))))
+            })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<List<UserImportResultDto>> createBatch(HttpServletRequest request) throws IOException {
+        // o corpo é lido item a item; nem a requisição inteira nem uma lista de dtos é carregada em memória
+        try (MappingIterator<UserCreateDto> items = objectMapper.readerFor(UserCreateDto.class).readValues(request.getInputStream())) {
+            return ResponseEntity.ok(userImportService.importUsers(items));
+        }
+    }
+
+    @Operation(
+            summary = "Check whether a username is available",
+            description = "Resource for checking, before signing up, whether a username is still free. " +
+                    "The answer is advisory: the username is only reserved when the user is created",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Availability checked successfully",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = UserAvailabilityDto.class)))
+            })
+    @GetMapping("/availability")
+    public ResponseEntity<UserAvailabilityDto> getAvailability(@RequestParam String username) {
+        return ResponseEntity.ok(new UserAvailabilityDto(username, userService.isAvailable(username)));
+    }
+
     @Operation(
             summary = "Retrieve a user by resource id",
-            description = "Resource for retrieving a user by its id",
+            security = @SecurityRequirement(name = "security"),
+            description = "Resource for retrieving a user by its id. The response carries an ETag with the user version; " +
+                    "sending it back in 'If-None-Match' returns 304 while the user is unchanged",
             responses = {
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "User without permission to access this resource",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
                     @ApiResponse(
                             responseCode = "200",
                             description = "Resource retrieved successfully",
                             content = @Content(
                                     mediaType = "application/json",
                                     schema = @Schema(implementation = UserResponseDto.class))),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "Resource not modified since the version in 'If-None-Match'"),
                     @ApiResponse(
                             responseCode = "404",
                             description = "Resource not found",
@@ -81,16 +168,25 @@ public class UserController {
                                     mediaType = "application/json",
                                     schema = @Schema(implementation = ErrorMessage.class)))
             })
+    @PreAuthorize("hasRole('ADMIN') OR (hasRole('CLIENT') AND #id == authentication.principal.id)")
     @GetMapping("/{id}")
     public ResponseEntity<UserResponseDto> getById(@PathVariable Long id) {
-        User persistedUser = userService.findById(id);
-        return ResponseEntity.ok(UserMapper.toDto(persistedUser));
+        UserSummary user = userService.findSummaryById(id); // com o cache, nem o banco é consultado
+        // o spring compara o etag com o If-None-Match (comparação fraca) e responde 304 sem serializar o corpo
+        return ResponseEntity.ok().eTag(versionETag(user.version())).body(UserMapper.toDto(user));
     }
 
     @Operation(
             summary = "Update a user password",
+            security = @SecurityRequirement(name = "security"),
             description = "Resource for updating the password of a user",
             responses = {
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "User without permission to access this resource",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
                     @ApiResponse(
                             responseCode = "204",
                             description = "Resource updated successfully",
@@ -109,6 +205,12 @@ public class UserController {
                             content = @Content(
                                     mediaType = "application/json",
                                     schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(
+                            responseCode = "409",
+                            description = "User modified by a concurrent request",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
                     @ApiResponse(
                             responseCode = "422",
                             description = "Resource not processed due to invalid input field values",
@@ -116,27 +218,106 @@ public class UserController {
                                     mediaType = "application/json",
                                     schema = @Schema(implementation = ErrorMessage.class)))
             })
+    @PreAuthorize("hasRole('ADMIN') OR (hasRole('CLIENT') AND #id == authentication.principal.id)")
     @PatchMapping("/{id}")
     public ResponseEntity<Void> updatePassword(@PathVariable Long id, @Valid @RequestBody UserPasswordDto dto) {
         User persistedUser = userService.updatePassword(id, dto.getCurrentPassword(), dto.getNewPassword(), dto.getConfirmPassword());
-        return ResponseEntity.noContent().build();
+        return ResponseEntity.noContent().eTag(versionETag(persistedUser.getVersion())).build(); // versão já incrementada no commit
     }
 
     @Operation(
             summary = "Retrieve all users",
-            description = "Resource for retrieving all users",
+            security = @SecurityRequirement(name = "security"),
+            description = "Resource for retrieving users in pages ordered by id. " +
+                    "When more users are available, the id to be sent as 'cursor' for the next page is returned in the '" + NEXT_CURSOR_HEADER + "' header. " +
+                    "The ETag of a page changes whenever one of its users is created, changed or removed; " +
+                    "sending it back in 'If-None-Match' returns 304 while the page is unchanged",
+            parameters = {
+                    @Parameter(name = "cursor", description = "Id of the last user of the previous page"),
+                    @Parameter(name = "size", description = "Page size, limited to " + UserService.MAX_PAGE_SIZE)
+            },
             responses = {
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "User without permission to access this resource",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
                     @ApiResponse(
                             responseCode = "200",
                             description = "Resource retrieved successfully",
+                            headers = @Header(name = NEXT_CURSOR_HEADER, description = "Cursor of the next page; absent on the last page"),
                             content = @Content(
                                     mediaType = "application/json",
                                     array = @ArraySchema(
-                                            schema = @Schema(implementation = UserResponseDto.class))))
+                                            schema = @Schema(implementation = UserResponseDto.class)))),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "Page not modified since the version in 'If-None-Match'")
             })
+    @PreAuthorize("hasRole('ADMIN')")
     @GetMapping()
-    public ResponseEntity<List<UserResponseDto>> getAll() {
-        List<User> persistedUsers = userService.findAll();
-        return ResponseEntity.ok(UserMapper.toListDto(persistedUsers));
+    public ResponseEntity<List<UserResponseDto>> getAll(@RequestParam(required = false) Long cursor,
+                                                        @RequestParam(defaultValue = "" + UserService.DEFAULT_PAGE_SIZE) int size) {
+        List<UserSummary> users = userService.findAll(cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (users.size() == UserService.pageSize(size)) { // página cheia; pode haver mais registros
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(users.get(users.size() - 1).id()));
+        }
+        return response.eTag(pageVersion(users)).body(UserMapper.toSummaryListDto(users));
+    }
+
+    @Operation(
+            summary = "Stream all users",
+            security = @SecurityRequirement(name = "security"),
+            description = "Resource for streaming all users as newline-delimited JSON, written while they are read from the database",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "User without permission to access this resource",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Resource streamed successfully",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    schema = @Schema(implementation = UserResponseDto.class)))
+            })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = objectMapper.writerFor(UserResponseDto.class)
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream)) {
+                userService.forEach(user -> {
+                    try {
+                        writer.write(UserMapper.toDto(user));
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex); // cliente desconectou; interrompe a leitura do cursor
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    // versão da página: combina id e versão de cada usuário, então qualquer inclusão, alteração ou remoção muda o etag;
+    // 31 é ímpar, por isso a alteração de uma única versão sempre muda o resultado. O etag é fraco: identifica o conteúdo,
+    // não os bytes (json, cbor ou smile, com ou sem gzip), e o tomcat não comprime respostas com etag forte
+    // etag fraco: a mesma versão é servida em json, cbor ou smile e com ou sem gzip, com bytes diferentes
+    static String versionETag(long version) {
+        return "W/\"" + version + "\"";
+    }
+
+    private static String pageVersion(List<UserSummary> users) {
+        long hash = 1;
+        for (UserSummary user : users) {
+            hash = 31 * hash + user.id();
+            hash = 31 * hash + user.version();
+        }
+        return "W/\"" + users.size() + "-" + Long.toHexString(hash) + "\"";
     }
 }
@@ -0,0 +1,90 @@
+package com.thiagoarend.parking_spot_management_api.web.controller;
+
+import com.thiagoarend.parking_spot_management_api.service.VehicleService;
+import com.thiagoarend.parking_spot_management_api.web.dto.ParkingTicketResponseDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.VehicleMatchDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.mapper.ParkingTicketMapper;
+import com.thiagoarend.parking_spot_management_api.web.dto.mapper.VehicleMapper;
+import com.thiagoarend.parking_spot_management_api.web.exception.ErrorMessage;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Tag(name = "Vehicles", description = "Holds plate lookups of vehicles with an open ticket, used by the parking gates.")
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("api/v1/vehicles")
+public class VehicleController {
+    private final VehicleService vehicleService;
+
+    @Operation(
+            summary = "Retrieve the open ticket of a vehicle",
+            security = @SecurityRequirement(name = "security"),
+            description = "Resource for retrieving the open ticket of an exact plate, ignoring case, hyphens and spaces",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Resource retrieved successfully",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ParkingTicketResponseDto.class))),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "User without permission to access this resource",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "No open ticket for the vehicle",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/{plate}/ticket")
+    public ResponseEntity<ParkingTicketResponseDto> getActiveTicket(@PathVariable String plate) {
+        return ResponseEntity.ok(ParkingTicketMapper.toDto(vehicleService.findActiveTicket(plate)));
+    }
+
+    @Operation(
+            summary = "Search vehicles by a partial plate",
+            security = @SecurityRequirement(name = "security"),
+            description = "Resource for finding the open tickets of a plate read by a camera: the exact plate first, then " +
+                    "plates starting with it and then plates one edit away from it",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Resource retrieved successfully",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    array = @ArraySchema(
+                                            schema = @Schema(implementation = VehicleMatchDto.class)))),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "User without permission to access this resource",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/search")
+    public ResponseEntity<List<VehicleMatchDto>> search(@RequestParam String plate,
+                                                        @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(VehicleMapper.toMatchListDto(vehicleService.search(plate, limit)));
+    }
+}
@@ -0,0 +1,24 @@
+package com.thiagoarend.parking_spot_management_api.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString
+public class ParkingFeeDto {
+    private String ticketId;
+    private String lot;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime entryDate;
+    // data de saída do ticket fechado ou o momento da consulta para um ticket aberto
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime until;
+    private String status;
+    private BigDecimal fee;
+}
@@ -0,0 +1,23 @@
+package com.thiagoarend.parking_spot_management_api.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString
+public class ParkingLotStatsDto {
+    private String lot;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime hour;
+    private Long checkIns;
+    private Long checkOuts;
+    private Double averageStayMinutes;
+    private Double occupancyRate;
+    private BigDecimal revenue;
+}
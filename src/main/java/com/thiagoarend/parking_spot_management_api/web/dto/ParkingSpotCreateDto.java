@@ -0,0 +1,26 @@
+package com.thiagoarend.parking_spot_management_api.web.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString
+public class ParkingSpotCreateDto {
+    @NotBlank
+    @Size(max = 10)
+    @Pattern(regexp = "^[A-Z0-9-]+$")
+    private String code;
+    @NotBlank
+    @Size(max = 20)
+    private String lot;
+    @NotNull
+    @Min(0)
+    private Integer level;
+}
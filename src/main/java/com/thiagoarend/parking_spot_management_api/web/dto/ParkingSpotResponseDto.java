@@ -0,0 +1,16 @@
+package com.thiagoarend.parking_spot_management_api.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString
+public class ParkingSpotResponseDto {
+    private Long id;
+    private String code;
+    private String lot;
+    private Integer level;
+    private String status;
+}
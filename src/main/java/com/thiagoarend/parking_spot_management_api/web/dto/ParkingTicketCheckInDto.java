@@ -0,0 +1,25 @@
+package com.thiagoarend.parking_spot_management_api.web.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString
+public class ParkingTicketCheckInDto {
+    @NotBlank
+    @Size(min = 5, max = 10)
+    @Pattern(regexp = "^(?=.*[A-Za-z0-9])[A-Za-z0-9-]+$") // ao menos um caractere além do hífen, que é ignorado na placa normalizada
+    private String plate;
+    @NotBlank
+    @Size(max = 20)
+    private String lot;
+    // opcional; sem nível, a primeira vaga livre do estacionamento é usada
+    @Min(0)
+    private Integer level;
+}
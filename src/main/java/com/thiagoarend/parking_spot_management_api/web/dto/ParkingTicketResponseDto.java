@@ -0,0 +1,28 @@
+package com.thiagoarend.parking_spot_management_api.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString
+public class ParkingTicketResponseDto {
+    private String id;
+    private String plate;
+    private String lot;
+    private Integer level;
+    private String spotCode;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime entryDate;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime exitDate;
+    private BigDecimal fee;
+    private String status;
+}
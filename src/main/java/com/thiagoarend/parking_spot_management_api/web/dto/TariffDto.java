@@ -0,0 +1,51 @@
+package com.thiagoarend.parking_spot_management_api.web.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+// tarifa informada para simulação, no mesmo formato das propriedades api.tariffs
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString
+public class TariffDto {
+    @NotEmpty
+    private List<@Valid Band> bands;
+    @Valid
+    private Night night;
+    @DecimalMin("0.01")
+    private BigDecimal dailyCap;
+    @Min(0)
+    private Integer gracePeriodMinutes;
+    private Map<String, @Min(0) @Max(100) Integer> discounts; // percentual por perfil (ROLE_ADMIN, ROLE_CLIENT)
+
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString
+    public static class Band {
+        @Min(0)
+        private int hours;
+        @NotNull
+        @DecimalMin("0.00")
+        private BigDecimal hourlyRate;
+    }
+
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString
+    public static class Night {
+        @Min(0) @Max(23)
+        private int startHour;
+        @Min(0) @Max(23)
+        private int endHour;
+        @NotNull
+        @DecimalMin("0.00")
+        private BigDecimal hourlyRate;
+    }
+}
@@ -0,0 +1,19 @@
+package com.thiagoarend.parking_spot_management_api.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString
+public class TariffSimulationDto {
+    private String lot;
+    private Long tickets;
+    private BigDecimal recordedRevenue;
+    private BigDecimal simulatedRevenue;
+    // tickets cujo valor recalculado difere do cobrado
+    private Long mismatches;
+}
@@ -0,0 +1,13 @@
+package com.thiagoarend.parking_spot_management_api.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString
+public class UserAvailabilityDto {
+    private String username;
+    private Boolean available;
+}
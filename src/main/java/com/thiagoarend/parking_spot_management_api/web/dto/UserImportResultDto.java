@@ -0,0 +1,22 @@
+package com.thiagoarend.parking_spot_management_api.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportResultDto {
+    private int index; // posição do item no corpo da requisição
+    private String username;
+    private Status status;
+    private Long id;
+    private String message;
+
+    public enum Status {
+        CREATED, CONFLICT, INVALID
+    }
+}
@@ -0,0 +1,15 @@
+package com.thiagoarend.parking_spot_management_api.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString
+public class VehicleMatchDto {
+    private String plate;
+    // EXACT, PREFIX ou FUZZY (uma edição de distância da placa lida)
+    private String match;
+    private ParkingTicketResponseDto ticket;
+}
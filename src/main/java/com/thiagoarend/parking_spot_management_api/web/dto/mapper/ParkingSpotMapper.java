@@ -0,0 +1,35 @@
+package com.thiagoarend.parking_spot_management_api.web.dto.mapper;
+
+import com.thiagoarend.parking_spot_management_api.entity.ParkingSpot;
+import com.thiagoarend.parking_spot_management_api.service.ParkingSpotOccupancyIndex.LevelAvailability;
+import com.thiagoarend.parking_spot_management_api.service.ParkingSpotOccupancyIndex.Slot;
+import com.thiagoarend.parking_spot_management_api.web.dto.ParkingSpotAvailabilityDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.ParkingSpotCreateDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.ParkingSpotResponseDto;
+
+import java.util.List;
+
+public class ParkingSpotMapper {
+    public static ParkingSpot toParkingSpot(ParkingSpotCreateDto dto) {
+        ParkingSpot spot = new ParkingSpot();
+        spot.setCode(dto.getCode());
+        spot.setLot(dto.getLot());
+        spot.setLevel(dto.getLevel());
+        return spot;
+    }
+
+    public static ParkingSpotResponseDto toDto(ParkingSpot spot) {
+        return new ParkingSpotResponseDto(spot.getId(), spot.getCode(), spot.getLot(), spot.getLevel(), spot.getStatus().name());
+    }
+
+    // o status vem do índice em memória, que está sempre à frente do que já foi gravado no banco
+    public static ParkingSpotResponseDto toDto(Slot slot) {
+        return new ParkingSpotResponseDto(slot.getId(), slot.getCode(), slot.getLot(), slot.getLevelNumber(), slot.getStatus().name());
+    }
+
+    public static List<ParkingSpotAvailabilityDto> toAvailabilityListDto(List<LevelAvailability> availability) {
+        return availability.stream()
+                .map(level -> new ParkingSpotAvailabilityDto(level.getLot(), level.getLevel(), level.getFree(), level.getTotal()))
+                .toList();
+    }
+}
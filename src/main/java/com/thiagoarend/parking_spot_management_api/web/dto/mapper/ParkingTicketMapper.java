@@ -0,0 +1,29 @@
+package com.thiagoarend.parking_spot_management_api.web.dto.mapper;
+
+import com.thiagoarend.parking_spot_management_api.entity.ParkingTicket;
+import com.thiagoarend.parking_spot_management_api.service.ParkingTicketRollups.HourlyStats;
+import com.thiagoarend.parking_spot_management_api.service.ParkingTicketService.FeeQuote;
+import com.thiagoarend.parking_spot_management_api.web.dto.ParkingFeeDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.ParkingLotStatsDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.ParkingTicketResponseDto;
+
+import java.util.List;
+
+public class ParkingTicketMapper {
+    public static ParkingTicketResponseDto toDto(ParkingTicket ticket) {
+        return new ParkingTicketResponseDto(ticket.getId(), ticket.getPlate(), ticket.getLot(), ticket.getLevel(),
+                ticket.getSpotCode(), ticket.getEntryDate(), ticket.getExitDate(), ticket.getFee(), ticket.getStatus().name());
+    }
+
+    public static ParkingFeeDto toDto(FeeQuote quote) {
+        return new ParkingFeeDto(quote.ticket().getId(), quote.ticket().getLot(), quote.ticket().getEntryDate(), quote.until(),
+                quote.ticket().getStatus().name(), quote.fee());
+    }
+
+    public static List<ParkingLotStatsDto> toStatsListDto(List<HourlyStats> stats) {
+        return stats.stream()
+                .map(hour -> new ParkingLotStatsDto(hour.lot(), hour.hour(), hour.checkIns(), hour.checkOuts(),
+                        hour.averageStayMinutes(), hour.occupancyRate(), hour.revenue()))
+                .toList();
+    }
+}
@@ -0,0 +1,55 @@
+package com.thiagoarend.parking_spot_management_api.web.dto.mapper;
+
+import com.thiagoarend.parking_spot_management_api.config.TariffProperties;
+import com.thiagoarend.parking_spot_management_api.entity.User;
+import com.thiagoarend.parking_spot_management_api.exception.InvalidTariffException;
+import com.thiagoarend.parking_spot_management_api.service.TariffSimulationService.LotSimulation;
+import com.thiagoarend.parking_spot_management_api.web.dto.TariffDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.TariffSimulationDto;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+public class TariffMapper {
+    public static TariffProperties.Tariff toTariff(TariffDto dto) {
+        TariffProperties.Tariff tariff = new TariffProperties.Tariff();
+        tariff.setBands(dto.getBands().stream().map(band -> {
+            TariffProperties.Band converted = new TariffProperties.Band();
+            converted.setHours(band.getHours());
+            converted.setHourlyRate(band.getHourlyRate());
+            return converted;
+        }).toList());
+        if (dto.getNight() != null) {
+            TariffProperties.Night night = new TariffProperties.Night();
+            night.setStartHour(dto.getNight().getStartHour());
+            night.setEndHour(dto.getNight().getEndHour());
+            night.setHourlyRate(dto.getNight().getHourlyRate());
+            tariff.setNight(night);
+        }
+        tariff.setDailyCap(dto.getDailyCap());
+        tariff.setGracePeriod(dto.getGracePeriodMinutes() == null ? Duration.ZERO : Duration.ofMinutes(dto.getGracePeriodMinutes()));
+        Map<User.Role, Integer> discounts = new EnumMap<>(User.Role.class);
+        if (dto.getDiscounts() != null) {
+            dto.getDiscounts().forEach((role, discount) -> discounts.put(toRole(role), discount));
+        }
+        tariff.setDiscounts(discounts);
+        return tariff;
+    }
+
+    public static List<TariffSimulationDto> toSimulationListDto(List<LotSimulation> simulations) {
+        return simulations.stream()
+                .map(lot -> new TariffSimulationDto(lot.lot(), lot.tickets(), lot.recordedRevenue(), lot.simulatedRevenue(),
+                        lot.mismatches()))
+                .toList();
+    }
+
+    private static User.Role toRole(String role) {
+        try {
+            return User.Role.valueOf(role);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidTariffException(String.format("Unknown role '%s'.", role));
+        }
+    }
+}
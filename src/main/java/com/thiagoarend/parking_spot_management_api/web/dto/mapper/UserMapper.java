@@ -1,6 +1,8 @@
 package com.thiagoarend.parking_spot_management_api.web.dto.mapper;
 
+import com.thiagoarend.parking_spot_management_api.entity.ReactiveUser;
 import com.thiagoarend.parking_spot_management_api.entity.User;
+import com.thiagoarend.parking_spot_management_api.repository.projection.UserSummary;
 import com.thiagoarend.parking_spot_management_api.web.dto.UserCreateDto;
 import com.thiagoarend.parking_spot_management_api.web.dto.UserResponseDto;
 import java.util.List;
@@ -21,6 +23,18 @@ public class UserMapper {
         return responseDto;
     }
 
+    public static UserResponseDto toDto(ReactiveUser user) {
+        return new UserResponseDto(user.getId(), user.getUsername(), user.getRole().name().substring("ROLE_".length()));
+    }
+
+    public static UserResponseDto toDto(UserSummary user) {
+        return new UserResponseDto(user.id(), user.username(), user.role().name().substring("ROLE_".length()));
+    }
+
+    public static List<UserResponseDto> toSummaryListDto(List<UserSummary> users) {
+        return users.stream().map(UserMapper::toDto).toList();
+    }
+
     public static List<UserResponseDto> toListDto(List<User> users) {
         return users.stream().map(user -> toDto(user)).toList(); // .collect(Collectors.toList()) se quisesse uma lista mutável
     }
@@ -0,0 +1,15 @@
+package com.thiagoarend.parking_spot_management_api.web.dto.mapper;
+
+import com.thiagoarend.parking_spot_management_api.service.VehiclePlateIndex.Match;
+import com.thiagoarend.parking_spot_management_api.web.dto.VehicleMatchDto;
+
+import java.util.List;
+
+public class VehicleMapper {
+    public static List<VehicleMatchDto> toMatchListDto(List<Match> matches) {
+        return matches.stream()
+                .map(match -> new VehicleMatchDto(match.ticket().getPlate(), match.type().name(),
+                        ParkingTicketMapper.toDto(match.ticket())))
+                .toList();
+    }
+}
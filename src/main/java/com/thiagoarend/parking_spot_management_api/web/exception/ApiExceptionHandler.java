@@ -1,21 +1,58 @@
 package com.thiagoarend.parking_spot_management_api.web.exception;
 
+import com.thiagoarend.parking_spot_management_api.exception.CodeUniqueViolationException;
 import com.thiagoarend.parking_spot_management_api.exception.EntityNotFoundException;
+import com.thiagoarend.parking_spot_management_api.exception.InvalidPeriodException;
+import com.thiagoarend.parking_spot_management_api.exception.InvalidTariffException;
+import com.thiagoarend.parking_spot_management_api.exception.ParkingSpotStatusException;
+import com.thiagoarend.parking_spot_management_api.exception.ParkingTicketStatusException;
+import com.thiagoarend.parking_spot_management_api.exception.PasswordHashingUnavailableException;
 import com.thiagoarend.parking_spot_management_api.exception.PasswordInvalidException;
 import com.thiagoarend.parking_spot_management_api.exception.UsernameUniqueViolationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// erros de cliente são um caminho quente (scanners, clientes mal configurados): as respostas partem de modelos
+// prontos por status, o log é amostrado e sem stack trace, e as exceções de negócio não capturam a pilha
 @Slf4j
 @RestControllerAdvice // listener; captura exceções que foram registradas
 public class ApiExceptionHandler {
+    private static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    private static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
+    private static final Template UNPROCESSABLE_ENTITY = new Template(HttpStatus.UNPROCESSABLE_ENTITY);
+    private static final Template CONFLICT = new Template(HttpStatus.CONFLICT);
+    private static final Template NOT_FOUND = new Template(HttpStatus.NOT_FOUND);
+    private static final Template BAD_REQUEST = new Template(HttpStatus.BAD_REQUEST);
+    private static final Template FORBIDDEN = new Template(HttpStatus.FORBIDDEN);
+    private static final Template SERVICE_UNAVAILABLE = new Template(HttpStatus.SERVICE_UNAVAILABLE, "1");
+
+    private final MeterRegistry meterRegistry;
+    private final ErrorLogSampler errorLogSampler;
+    // um contador por tipo de exceção, registrado na primeira ocorrência; as seguintes só incrementam
+    private final Map<Class<?>, Counter> errorCounters = new ConcurrentHashMap<>();
+
+    public ApiExceptionHandler(MeterRegistry meterRegistry,
+                               @Value("${api.errors.log.max-per-second:20}") int maxLoggedErrorsPerSecond) {
+        this.meterRegistry = meterRegistry;
+        this.errorLogSampler = new ErrorLogSampler(maxLoggedErrorsPerSecond);
+    }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorMessage> methodArgumentNotValidException(
@@ -23,24 +60,27 @@ public class ApiExceptionHandler {
             HttpServletRequest request,
             BindingResult result) {
 
-        log.error("Api Error - ", ex);
-        return ResponseEntity
-                .status(HttpStatus.UNPROCESSABLE_ENTITY)
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(new ErrorMessage(request, HttpStatus.UNPROCESSABLE_ENTITY, "Invalid field", result));
+        return respond(UNPROCESSABLE_ENTITY, request, new ErrorMessage(request, UNPROCESSABLE_ENTITY.status, "Invalid field", result), ex);
     }
 
     // nao tem o result porque nao é validação de campo
-    @ExceptionHandler(UsernameUniqueViolationException.class)
-    public ResponseEntity<ErrorMessage> usernameUniqueViolationException(
+    @ExceptionHandler({UsernameUniqueViolationException.class, CodeUniqueViolationException.class, ParkingSpotStatusException.class,
+            ParkingTicketStatusException.class})
+    public ResponseEntity<ErrorMessage> conflictException(
             RuntimeException ex,
             HttpServletRequest request) {
 
-        log.error("Api Error - ", ex);
-        return ResponseEntity
-                .status(HttpStatus.CONFLICT)
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(new ErrorMessage(request, HttpStatus.CONFLICT, ex.getMessage()));
+        return respond(CONFLICT, request, new ErrorMessage(request, CONFLICT.status, ex.getMessage()), ex);
+    }
+
+    // versão do registro mudou entre a leitura e o update (@Version)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorMessage> optimisticLockingFailureException(
+            RuntimeException ex,
+            HttpServletRequest request) {
+
+        return respond(CONFLICT, request, new ErrorMessage(request, CONFLICT.status,
+                "Resource was modified by a concurrent request. Reload it and try again."), ex);
     }
 
     @ExceptionHandler(EntityNotFoundException.class)
@@ -48,22 +88,95 @@ public class ApiExceptionHandler {
             RuntimeException ex,
             HttpServletRequest request) {
 
-        log.error("Api Error - ", ex);
-        return ResponseEntity
-                .status(HttpStatus.NOT_FOUND)
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(new ErrorMessage(request, HttpStatus.NOT_FOUND, ex.getMessage()));
+        return respond(NOT_FOUND, request, new ErrorMessage(request, NOT_FOUND.status, ex.getMessage()), ex);
     }
 
-    @ExceptionHandler(PasswordInvalidException.class)
+    @ExceptionHandler({PasswordInvalidException.class, InvalidPeriodException.class, InvalidTariffException.class})
     public ResponseEntity<ErrorMessage> passwordInvalidException(
             RuntimeException ex,
             HttpServletRequest request) {
 
-        log.error("Api Error - ", ex);
-        return ResponseEntity
-                .status(HttpStatus.BAD_REQUEST)
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(new ErrorMessage(request, HttpStatus.BAD_REQUEST, ex.getMessage()));
+        return respond(BAD_REQUEST, request, new ErrorMessage(request, BAD_REQUEST.status, ex.getMessage()), ex);
+    }
+
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ErrorMessage> accessDeniedException(
+            AccessDeniedException ex,
+            HttpServletRequest request) {
+
+        return respond(FORBIDDEN, request, new ErrorMessage(request, FORBIDDEN.status, ex.getMessage()), ex);
+    }
+
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<ErrorMessage> passwordHashingUnavailableException(
+            RuntimeException ex,
+            HttpServletRequest request) {
+
+        return respond(SERVICE_UNAVAILABLE, request, new ErrorMessage(request, SERVICE_UNAVAILABLE.status, ex.getMessage()), ex);
+    }
+
+    private ResponseEntity<ErrorMessage> respond(Template template, HttpServletRequest request, ErrorMessage body, Exception ex) {
+        record(template.status, ex);
+        return new ResponseEntity<>(body, template.headersFor(request.getHeader(HttpHeaders.ACCEPT)), template.status);
+    }
+
+    private void record(HttpStatus status, Exception ex) {
+        errorCounters.computeIfAbsent(ex.getClass(), type -> Counter.builder("api.errors")
+                .description("Errors answered by the api exception handler")
+                .tag("status", String.valueOf(status.value()))
+                .tag("exception", type.getSimpleName())
+                .register(meterRegistry)).increment();
+
+        if (errorLogSampler.tryAcquire()) {
+            long suppressed = errorLogSampler.drainSuppressed();
+            if (suppressed > 0) {
+                log.warn("Api Error - {} {}: {} ({} similar errors suppressed)", status.value(), ex.getClass().getSimpleName(),
+                        ex.getMessage(), suppressed);
+            } else {
+                log.warn("Api Error - {} {}: {}", status.value(), ex.getClass().getSimpleName(), ex.getMessage());
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Api Error - ", ex);
+        }
+    }
+
+    // status e cabeçalhos somente leitura montados uma vez por formato; cada resposta aloca apenas o corpo e a ResponseEntity
+    private static final class Template {
+        private final HttpStatus status;
+        private final HttpHeaders json;
+        private final HttpHeaders cbor;
+        private final HttpHeaders smile;
+
+        private Template(HttpStatus status) {
+            this(status, null);
+        }
+
+        private Template(HttpStatus status, String retryAfter) {
+            this.status = status;
+            this.json = headers(MediaType.APPLICATION_JSON, retryAfter);
+            this.cbor = headers(MediaType.APPLICATION_CBOR, retryAfter);
+            this.smile = headers(APPLICATION_SMILE, retryAfter);
+        }
+
+        // formato binário apenas quando o cliente o pede explicitamente no Accept; nos demais casos, json
+        private HttpHeaders headersFor(String accept) {
+            if (accept == null) {
+                return json;
+            }
+            if (accept.contains(MediaType.APPLICATION_CBOR_VALUE)) {
+                return cbor;
+            }
+            return accept.contains(APPLICATION_SMILE_VALUE) ? smile : json;
+        }
+
+        private static HttpHeaders headers(MediaType contentType, String retryAfter) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(contentType);
+            if (retryAfter != null) {
+                headers.set(HttpHeaders.RETRY_AFTER, retryAfter);
+            }
+            return HttpHeaders.readOnlyHttpHeaders(headers);
+        }
     }
 }
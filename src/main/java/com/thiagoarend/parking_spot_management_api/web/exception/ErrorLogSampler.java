@@ -0,0 +1,37 @@
+package com.thiagoarend.parking_spot_management_api.web.exception;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// janela fixa de um segundo: até maxPerSecond registros por janela; os excedentes são apenas contados e o total é
+// informado no próximo registro liberado
+class ErrorLogSampler {
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+
+    private final int maxPerSecond;
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicInteger logged = new AtomicInteger();
+    private final LongAdder suppressed = new LongAdder();
+
+    ErrorLogSampler(int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    boolean tryAcquire() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+            logged.set(0);
+        }
+        if (logged.incrementAndGet() <= maxPerSecond) {
+            return true;
+        }
+        suppressed.increment();
+        return false;
+    }
+
+    long drainSuppressed() {
+        return suppressed.sumThenReset();
+    }
+}
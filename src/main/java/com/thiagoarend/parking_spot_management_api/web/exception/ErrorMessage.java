@@ -9,6 +9,7 @@ import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Getter
@@ -42,9 +43,14 @@ public class ErrorMessage {
         addErrors(result);
     }
 
+    // o mapa só é criado quando há erros de campo, já dimensionado para não ser redimensionado
     private void addErrors(BindingResult result) {
-        this.errors = new HashMap<>();
-        for (FieldError fieldError : result.getFieldErrors()) {
+        if (!result.hasFieldErrors()) {
+            return;
+        }
+        List<FieldError> fieldErrors = result.getFieldErrors();
+        this.errors = new HashMap<>((int) (fieldErrors.size() / 0.75f) + 1);
+        for (FieldError fieldError : fieldErrors) {
             this.errors.put(fieldError.getField(), fieldError.getDefaultMessage());
         }
     }
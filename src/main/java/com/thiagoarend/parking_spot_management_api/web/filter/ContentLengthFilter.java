@@ -0,0 +1,188 @@
+package com.thiagoarend.parking_spot_management_api.web.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+// os conversores (json, cbor, smile) fazem flush ao terminar de escrever, e a resposta sai em chunks, sem Content-Length;
+// nesse caso o tomcat comprime qualquer tamanho e ignora server.compression.min-response-size. O corpo é retido até
+// esse limite: a resposta que termina antes sai com Content-Length e sem compressão, e a que passa dele segue em chunks.
+// Respostas assíncronas (streaming) deixam de ser retidas assim que a requisição entra em modo assíncrono
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Component
+public class ContentLengthFilter extends OncePerRequestFilter {
+    private final int limit;
+
+    public ContentLengthFilter(@Value("${server.compression.min-response-size:2KB}") DataSize minResponseSize) {
+        this.limit = (int) minResponseSize.toBytes();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        BufferedResponse bufferedResponse = new BufferedResponse(request, response, limit);
+        // em caso de exceção o corpo retido é descartado, como o buffer não enviado do container, e a página de erro é escrita
+        filterChain.doFilter(request, bufferedResponse);
+        bufferedResponse.finish();
+    }
+
+    private static class BufferedResponse extends HttpServletResponseWrapper {
+        private final HttpServletRequest request;
+        private final int limit;
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream(); // null depois de repassado à resposta
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        private BufferedResponse(HttpServletRequest request, HttpServletResponse response, int limit) {
+            super(response);
+            this.request = request;
+            this.limit = limit;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (outputStream == null) {
+                outputStream = new BufferedOutputStream();
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public synchronized void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (buffer == null || request.isAsyncStarted()) {
+                release();
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public synchronized void resetBuffer() {
+            if (buffer != null) {
+                buffer.reset();
+            }
+            super.resetBuffer();
+        }
+
+        @Override
+        public synchronized void reset() {
+            if (buffer != null) {
+                buffer.reset();
+            }
+            super.reset();
+        }
+
+        @Override
+        public synchronized void sendError(int sc, String msg) throws IOException {
+            resetBuffer();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public synchronized void sendError(int sc) throws IOException {
+            resetBuffer();
+            super.sendError(sc);
+        }
+
+        @Override
+        public synchronized void sendRedirect(String location) throws IOException {
+            resetBuffer();
+            super.sendRedirect(location);
+        }
+
+        private synchronized void write(byte[] bytes, int offset, int length) throws IOException {
+            if (buffer != null && !request.isAsyncStarted() && buffer.size() + length <= limit) {
+                buffer.write(bytes, offset, length);
+                return;
+            }
+            release();
+            getResponse().getOutputStream().write(bytes, offset, length);
+        }
+
+        private synchronized void flush() throws IOException {
+            if (buffer == null || request.isAsyncStarted()) {
+                release();
+                getResponse().getOutputStream().flush();
+            }
+        }
+
+        // passa a escrever direto na resposta, começando pelo que estava retido
+        private synchronized void release() throws IOException {
+            if (buffer != null) {
+                ByteArrayOutputStream retained = buffer;
+                buffer = null;
+                if (retained.size() > 0) {
+                    retained.writeTo(getResponse().getOutputStream());
+                }
+            }
+        }
+
+        private synchronized void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (buffer != null && !request.isAsyncStarted() && buffer.size() > 0 && !isCommitted()) {
+                setContentLength(buffer.size());
+            }
+            release();
+        }
+
+        private class BufferedOutputStream extends ServletOutputStream {
+
+            @Override
+            public void write(int b) throws IOException {
+                BufferedResponse.this.write(new byte[] {(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                BufferedResponse.this.write(bytes, offset, length);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                BufferedResponse.this.flush();
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                try {
+                    release();
+                    getResponse().getOutputStream().setWriteListener(writeListener);
+                } catch (IOException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }
+        }
+    }
+}
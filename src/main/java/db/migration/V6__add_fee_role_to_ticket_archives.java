@@ -0,0 +1,35 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+// as tabelas mensais do arquivo são criadas em tempo de execução, por isso a coluna fee_role é acrescentada a cada uma
+// das tabelas registradas em parking_ticket_archive_partitions, que uma migração em sql não consegue percorrer
+public class V6__add_fee_role_to_ticket_archives extends BaseJavaMigration {
+    private static final Pattern ARCHIVE_TABLE = Pattern.compile("parking_tickets_archive_\\d{6}");
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        List<String> tables = new ArrayList<>();
+        try (Statement statement = context.getConnection().createStatement();
+             ResultSet rs = statement.executeQuery("SELECT table_name FROM parking_ticket_archive_partitions")) {
+            while (rs.next()) {
+                tables.add(rs.getString("table_name"));
+            }
+        }
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (String table : tables) {
+                if (!ARCHIVE_TABLE.matcher(table).matches()) {
+                    throw new IllegalStateException(String.format("Unexpected archive table name '%s'.", table));
+                }
+                statement.execute("ALTER TABLE " + table + " ADD COLUMN fee_role VARCHAR(25)");
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+-- schema inicial, equivalente ao gerado pelo hibernate (ddl-auto=update) para o MySQL; bancos criados antes das
+-- migrações recebem esta versão como baseline (spring.flyway.baseline-on-migrate)
+
+CREATE TABLE users (
+    id                BIGINT       NOT NULL,
+    username          VARCHAR(100) NOT NULL,
+    password          VARCHAR(200) NOT NULL,
+    role              ENUM ('ROLE_ADMIN','ROLE_CLIENT') NOT NULL,
+    version           BIGINT       NOT NULL,
+    creation_date     DATETIME(6),
+    modification_date DATETIME(6),
+    created_by        VARCHAR(255),
+    modified_by       VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username)
+) ENGINE = InnoDB;
+
+CREATE TABLE users_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO users_seq VALUES (1);
+
+CREATE TABLE parking_spots (
+    id                BIGINT      NOT NULL,
+    code              VARCHAR(10) NOT NULL,
+    lot               VARCHAR(20) NOT NULL,
+    spot_level        INTEGER     NOT NULL,
+    status            ENUM ('FREE','OCCUPIED') NOT NULL,
+    creation_date     DATETIME(6),
+    modification_date DATETIME(6),
+    created_by        VARCHAR(255),
+    modified_by       VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_parking_spots_code UNIQUE (code)
+) ENGINE = InnoDB;
+
+CREATE TABLE parking_spots_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO parking_spots_seq VALUES (1);
+
+CREATE TABLE parking_tickets (
+    id                VARCHAR(36) NOT NULL,
+    plate             VARCHAR(10) NOT NULL,
+    lot               VARCHAR(20) NOT NULL,
+    spot_level        INTEGER     NOT NULL,
+    spot_code         VARCHAR(10) NOT NULL,
+    entry_date        DATETIME(6) NOT NULL,
+    exit_date         DATETIME(6),
+    status            ENUM ('CLOSED','OPEN') NOT NULL,
+    creation_date     DATETIME(6),
+    modification_date DATETIME(6),
+    created_by        VARCHAR(255),
+    modified_by       VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_parking_tickets_status ON parking_tickets (status);
+CREATE INDEX idx_parking_tickets_plate ON parking_tickets (plate);
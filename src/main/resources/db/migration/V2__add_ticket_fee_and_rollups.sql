@@ -0,0 +1,16 @@
+ALTER TABLE parking_tickets ADD COLUMN fee DECIMAL(10, 2);
+
+-- leitura por faixa de horário na reconstrução dos agregados
+CREATE INDEX idx_parking_tickets_entry_date ON parking_tickets (entry_date);
+CREATE INDEX idx_parking_tickets_exit_date ON parking_tickets (exit_date);
+
+CREATE TABLE parking_ticket_rollups (
+    lot              VARCHAR(20)    NOT NULL,
+    bucket_hour      DATETIME(6)    NOT NULL,
+    check_ins        BIGINT         NOT NULL,
+    check_outs       BIGINT         NOT NULL,
+    stay_seconds     BIGINT         NOT NULL,
+    occupied_seconds BIGINT         NOT NULL,
+    revenue          DECIMAL(14, 2) NOT NULL,
+    PRIMARY KEY (lot, bucket_hour)
+) ENGINE = InnoDB;
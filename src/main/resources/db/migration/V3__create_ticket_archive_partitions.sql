@@ -0,0 +1,8 @@
+-- as tabelas parking_tickets_archive_yyyymm são criadas pelo arquivamento ao encontrar o primeiro ticket de cada mês
+CREATE TABLE parking_ticket_archive_partitions (
+    archive_month VARCHAR(7)  NOT NULL,
+    table_name    VARCHAR(64) NOT NULL,
+    ticket_count  BIGINT      NOT NULL,
+    creation_date DATETIME(6),
+    PRIMARY KEY (archive_month)
+) ENGINE = InnoDB;
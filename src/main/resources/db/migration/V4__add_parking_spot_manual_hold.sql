@@ -0,0 +1,2 @@
+-- vagas ocupadas manualmente pelo admin; a recuperação dos tickets não as libera
+ALTER TABLE parking_spots ADD COLUMN manual_hold BOOLEAN NOT NULL DEFAULT FALSE;
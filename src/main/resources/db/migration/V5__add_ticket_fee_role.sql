@@ -0,0 +1,2 @@
+-- perfil cujo desconto foi aplicado no check-out; nulo nos tickets fechados antes desta versão
+ALTER TABLE parking_tickets ADD COLUMN fee_role ENUM ('ROLE_ADMIN','ROLE_CLIENT');
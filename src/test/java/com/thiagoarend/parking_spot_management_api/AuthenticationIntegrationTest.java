@@ -0,0 +1,178 @@
+package com.thiagoarend.parking_spot_management_api;
+
+import com.thiagoarend.parking_spot_management_api.jwt.JwtToken;
+import com.thiagoarend.parking_spot_management_api.service.UserService;
+import com.thiagoarend.parking_spot_management_api.web.dto.UserLoginDto;
+import com.thiagoarend.parking_spot_management_api.web.exception.ErrorMessage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Sql(scripts = "/sql/users/users-insert.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/sql/users/users-delete.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class AuthenticationIntegrationTest {
+
+    @Autowired
+    WebTestClient testClient;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Test()
+    public void authenticateWithValidCredentialsShouldReturnTokenWithStatus200() {
+        // generates post request and captures response
+        JwtToken responseBody = testClient
+                .post()
+                .uri("/api/v1/auth")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserLoginDto("bia@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JwtToken.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getToken()).isNotBlank();
+    }
+
+    @Test()
+    public void authenticateWithInvalidCredentialsShouldReturnErrorMessageWithStatus400() {
+        // generates post request with an unknown username
+        ErrorMessage responseBody = testClient
+                .post()
+                .uri("/api/v1/auth")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserLoginDto("invalid@email.com", "123456"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+
+        // generates post request with a wrong password
+        responseBody = testClient
+                .post()
+                .uri("/api/v1/auth")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserLoginDto("bia@email.com", "000000"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test()
+    public void authenticateWithInvalidInputValuesShouldReturnErrorMessageWithStatus422() {
+        // generates post request with empty fields
+        ErrorMessage responseBody = testClient
+                .post()
+                .uri("/api/v1/auth")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserLoginDto("", ""))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY)
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getStatus()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY.value());
+    }
+
+    @Test()
+    public void authenticateWithLegacyPasswordHashShouldUpgradeStoredHash() {
+        // warms the users cache with the summary carrying the pre-upgrade version
+        Cache cache = cacheManager.getCache(UserService.USERS_CACHE);
+        cache.clear();
+        userService.findSummaryById(102L);
+        assertThat(cache.get(102L)).isNotNull();
+
+        // fixtures store bcrypt hashes without the {id} prefix used by the delegating encoder
+        testClient
+                .post()
+                .uri("/api/v1/auth")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserLoginDto("bob@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk();
+
+        // assertions
+        String storedHash = jdbcTemplate.queryForObject("SELECT password FROM users WHERE username = 'bob@email.com'", String.class);
+        assertThat(storedHash).startsWith("{bcrypt}");
+
+        // the rehash bumps the version, so the cached summary must be gone and reload the new one
+        assertThat(cache.get(102L)).isNull();
+        Long storedVersion = jdbcTemplate.queryForObject("SELECT version FROM users WHERE id = 102", Long.class);
+        assertThat(userService.findSummaryById(102L).version()).isEqualTo(storedVersion);
+
+        // the upgraded hash keeps authenticating
+        testClient
+                .post()
+                .uri("/api/v1/auth")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserLoginDto("bob@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test()
+    public void authenticateWithBaselinePlaintextPasswordShouldUpgradeStoredHash() {
+        // the original version stored passwords in plaintext
+        jdbcTemplate.update("UPDATE users SET password = '123456' WHERE username = 'bia@email.com'");
+
+        // a wrong password is still rejected
+        testClient
+                .post()
+                .uri("/api/v1/auth")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserLoginDto("bia@email.com", "000000"))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        // the right one is accepted once and rehashed
+        testClient
+                .post()
+                .uri("/api/v1/auth")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserLoginDto("bia@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk();
+
+        // assertions
+        String storedHash = jdbcTemplate.queryForObject("SELECT password FROM users WHERE username = 'bia@email.com'", String.class);
+        assertThat(storedHash).startsWith("{bcrypt}");
+
+        // the upgraded hash keeps authenticating
+        testClient
+                .post()
+                .uri("/api/v1/auth")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserLoginDto("bia@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk();
+    }
+}
@@ -0,0 +1,134 @@
+package com.thiagoarend.parking_spot_management_api;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.thiagoarend.parking_spot_management_api.web.dto.UserResponseDto;
+import com.thiagoarend.parking_spot_management_api.web.exception.ErrorMessage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlMergeMode;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Sql(scripts = "/sql/users/users-insert.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/sql/users/users-delete.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class ContentNegotiationIntegrationTest {
+    private static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    WebTestClient testClient;
+
+    @LocalServerPort
+    int port;
+
+    @Test()
+    public void getByIdAcceptingCborShouldReturnCborBody() throws IOException {
+        byte[] responseBody = testClient
+                .get()
+                .uri("/api/v1/users/101")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        UserResponseDto user = new CBORMapper().readValue(responseBody, UserResponseDto.class);
+        assertThat(user.getId()).isEqualTo(101);
+        assertThat(user.getUsername()).isEqualTo("bia@email.com");
+        assertThat(user.getRole()).isEqualTo("CLIENT");
+    }
+
+    @Test()
+    public void getAllAcceptingSmileShouldReturnSmileBody() throws IOException {
+        byte[] responseBody = testClient
+                .get()
+                .uri("/api/v1/users")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .accept(APPLICATION_SMILE)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(APPLICATION_SMILE)
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        ObjectMapper smileMapper = new SmileMapper();
+        List<UserResponseDto> users = smileMapper.readValue(responseBody,
+                smileMapper.getTypeFactory().constructCollectionType(List.class, UserResponseDto.class));
+        assertThat(users).extracting(UserResponseDto::getUsername)
+                .containsExactly("ana@email.com", "bia@email.com", "bob@email.com");
+    }
+
+    @Test()
+    public void errorAcceptingCborShouldReturnCborErrorMessage() throws IOException {
+        byte[] responseBody = testClient
+                .get()
+                .uri("/api/v1/users/0")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        ErrorMessage errorMessage = new CBORMapper().readValue(responseBody, ErrorMessage.class);
+        assertThat(errorMessage.getStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
+        assertThat(errorMessage.getPath()).isEqualTo("/api/v1/users/0");
+    }
+
+    @Test()
+    @Sql(scripts = "/sql/users/users-insert-page.sql") // enough users for the page to exceed the compression threshold
+    @SqlMergeMode(SqlMergeMode.MergeMode.MERGE)
+    public void getAllAboveThresholdAcceptingGzipShouldReturnCompressedBody() throws IOException, InterruptedException {
+        Consumer<HttpHeaders> authorization = JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456");
+        HttpHeaders headers = new HttpHeaders();
+        authorization.accept(headers);
+
+        // the web test client decompresses transparently, so the raw response is read with the jdk client
+        HttpClient client = HttpClient.newHttpClient();
+        HttpResponse<byte[]> page = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/users?size=100"))
+                .header(HttpHeaders.AUTHORIZATION, headers.getFirst(HttpHeaders.AUTHORIZATION))
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+
+        // assertions
+        assertThat(page.statusCode()).isEqualTo(HttpStatus.OK.value());
+        assertThat(page.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+        List<UserResponseDto> users = new ObjectMapper().readValue(new GZIPInputStream(new ByteArrayInputStream(page.body())),
+                new TypeReference<>() {});
+        assertThat(users).hasSize(100);
+
+        // small responses are not compressed
+        HttpResponse<byte[]> user = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/users/101"))
+                .header(HttpHeaders.AUTHORIZATION, headers.getFirst(HttpHeaders.AUTHORIZATION))
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(user.statusCode()).isEqualTo(HttpStatus.OK.value());
+        assertThat(user.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+    }
+}
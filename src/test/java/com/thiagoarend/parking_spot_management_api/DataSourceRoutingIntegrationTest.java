@@ -0,0 +1,158 @@
+package com.thiagoarend.parking_spot_management_api;
+
+import com.thiagoarend.parking_spot_management_api.datasource.DataSourceRouting;
+import com.thiagoarend.parking_spot_management_api.datasource.ReadWriteRoutingDataSource;
+import com.thiagoarend.parking_spot_management_api.datasource.ReadYourWritesFilter;
+import com.thiagoarend.parking_spot_management_api.repository.UserRepository;
+import com.thiagoarend.parking_spot_management_api.service.ParkingTicketRollups;
+import com.thiagoarend.parking_spot_management_api.service.UserService;
+import com.thiagoarend.parking_spot_management_api.web.dto.UserAvailabilityDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.UserLoginDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Sql(scripts = "/sql/users/users-insert.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/sql/users/users-delete.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class DataSourceRoutingIntegrationTest {
+
+    @Autowired
+    WebTestClient testClient;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    ReadWriteRoutingDataSource routingDataSource;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test()
+    public void readOnlyTransactionShouldUseHealthyReplica() {
+        double replicaBefore = connections("replica-0");
+
+        // read-only service method
+        assertThat(userService.findAll(null, 10)).hasSize(3);
+
+        // assertions: served by the replica, the unreachable one is marked down instead of failing the read
+        assertThat(connections("replica-0")).isEqualTo(replicaBefore + 1);
+        assertThat(connections("replica-1")).isZero();
+        assertThat(meterRegistry.get("api.datasource.replicas.healthy").gauge().value()).isEqualTo(1);
+    }
+
+    @Test()
+    public void writeTransactionShouldUsePrimary() {
+        double replicaBefore = connections("replica-0");
+        double primaryBefore = connections(ReadWriteRoutingDataSource.PRIMARY);
+
+        transactionTemplate.executeWithoutResult(status -> userRepository.updatePasswordByUsername("bob@email.com", "hash"));
+
+        // assertions
+        assertThat(connections("replica-0")).isEqualTo(replicaBefore);
+        assertThat(connections(ReadWriteRoutingDataSource.PRIMARY)).isGreaterThan(primaryBefore);
+    }
+
+    @Test()
+    public void readAfterWriteInsideScopeShouldUsePrimary() {
+        double replicaBefore = connections("replica-0");
+
+        try (DataSourceRouting.Scope scope = DataSourceRouting.open(false)) {
+            transactionTemplate.executeWithoutResult(status -> userRepository.updatePasswordByUsername("bob@email.com", "hash"));
+            assertThat(userService.findAll(null, 10)).hasSize(3);
+        }
+
+        // assertions: the read following the write did not go to the replica
+        assertThat(connections("replica-0")).isEqualTo(replicaBefore);
+
+        // scope closed: reads go back to the replica
+        userService.findAll(null, 10);
+        assertThat(connections("replica-0")).isEqualTo(replicaBefore + 1);
+    }
+
+    @Test()
+    public void requestWithReadYourWritesHeaderShouldReadFromPrimary() {
+        routingDataSource.checkReplicas();
+        double replicaBefore = connections("replica-0");
+
+        UserAvailabilityDto responseBody = testClient
+                .get()
+                .uri("/api/v1/users/availability?username=ana@email.com")
+                .header(ReadYourWritesFilter.READ_YOUR_WRITES_HEADER, "true")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(UserAvailabilityDto.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(connections("replica-0")).isEqualTo(replicaBefore);
+    }
+
+    @Test()
+    public void cachedUserSummaryShouldBeLoadedFromPrimary(@Autowired CacheManager cacheManager) {
+        routingDataSource.checkReplicas();
+        cacheManager.getCache(UserService.USERS_CACHE).evict(100L);
+        double replicaBefore = connections("replica-0");
+
+        userService.findSummaryById(100L);
+
+        // assertions: a stale version read from a lagging replica would stay cached for the whole ttl
+        assertThat(connections("replica-0")).isEqualTo(replicaBefore);
+    }
+
+    @Test()
+    public void rollupRebuildShouldReadFromPrimary(@Autowired ParkingTicketRollups rollups) {
+        routingDataSource.checkReplicas();
+        double replicaBefore = connections("replica-0");
+        LocalDateTime from = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusDays(3);
+
+        rollups.rebuild(from, from.plusDays(2));
+
+        // assertions: the tickets flushed right before the rebuild may not have reached the replicas yet
+        assertThat(connections("replica-0")).isEqualTo(replicaBefore);
+    }
+
+    @Test()
+    public void requestReadingThenWritingShouldSendWriteToPrimary() {
+        routingDataSource.checkReplicas();
+        double replicaBefore = connections("replica-0");
+        double primaryBefore = connections(ReadWriteRoutingDataSource.PRIMARY);
+
+        // the login reads the user (read-only) and then rehashes the legacy password (write) within one request
+        testClient
+                .post()
+                .uri("/api/v1/auth")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserLoginDto("bob@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk();
+
+        // assertions: the read went to the replica and the write was routed again, to the primary
+        assertThat(connections("replica-0")).isEqualTo(replicaBefore + 1);
+        assertThat(connections(ReadWriteRoutingDataSource.PRIMARY)).isEqualTo(primaryBefore + 1);
+        assertThat(userRepository.findByUsername("bob@email.com").orElseThrow().getPassword()).startsWith("{bcrypt}");
+    }
+
+    private double connections(String target) {
+        return meterRegistry.get("api.datasource.connections").tag("target", target).counter().count();
+    }
+}
@@ -0,0 +1,26 @@
+package com.thiagoarend.parking_spot_management_api;
+
+import com.thiagoarend.parking_spot_management_api.jwt.JwtToken;
+import com.thiagoarend.parking_spot_management_api.web.dto.UserLoginDto;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.function.Consumer;
+
+public class JwtAuthentication {
+
+    // authenticates through the login endpoint and returns the authorization header to be added to the next requests
+    public static Consumer<HttpHeaders> getHeaderAuthorization(WebTestClient client, String username, String password) {
+        String token = client
+                .post()
+                .uri("/api/v1/auth")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserLoginDto(username, password))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JwtToken.class)
+                .returnResult().getResponseBody().getToken();
+        return headers -> headers.add(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    }
+}
@@ -0,0 +1,54 @@
+package com.thiagoarend.parking_spot_management_api;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Sql(scripts = "/sql/users/users-insert.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/sql/users/users-delete.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class MetricsIntegrationTest {
+
+    @Autowired
+    WebTestClient testClient;
+
+    @Test()
+    public void prometheusShouldExposeRequestServiceRepositoryPoolAndErrorMetrics() {
+        // one successful read and one 404 to populate the meters
+        testClient
+                .get()
+                .uri("/api/v1/users/101")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk();
+        testClient
+                .get()
+                .uri("/api/v1/users/0")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isNotFound();
+
+        // scraped without authentication; the text format easily exceeds the default 256 KB client buffer
+        String responseBody = testClient
+                .mutate().codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(4 * 1024 * 1024)).build()
+                .get()
+                .uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody).contains("http_server_requests_seconds_bucket{");
+        assertThat(responseBody).contains("uri=\"/api/v1/users/{id}\"");
+        assertThat(responseBody).containsPattern("api_service_seconds_bucket\\{.*class=\".*UserService\".*method=\"findSummaryById\"");
+        assertThat(responseBody).containsPattern("spring_data_repository_invocations_seconds_bucket\\{.*repository=\"UserRepository\"");
+        assertThat(responseBody).contains("hikaricp_connections_acquire_seconds_bucket{");
+        assertThat(responseBody).containsPattern("api_errors_total\\{.*exception=\"EntityNotFoundException\".*status=\"404\"");
+    }
+}
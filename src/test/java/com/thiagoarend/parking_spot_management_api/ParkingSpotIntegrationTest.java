@@ -0,0 +1,232 @@
+package com.thiagoarend.parking_spot_management_api;
+
+import com.thiagoarend.parking_spot_management_api.service.ParkingSpotService;
+import com.thiagoarend.parking_spot_management_api.web.dto.ParkingSpotAvailabilityDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.ParkingSpotCreateDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.ParkingSpotResponseDto;
+import com.thiagoarend.parking_spot_management_api.web.exception.ErrorMessage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// the occupancy index lives in memory for the whole context, so each test uses its own lot
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Sql(scripts = "/sql/users/users-insert.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = {"/sql/parking-spots/parking-spots-delete.sql", "/sql/users/users-delete.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class ParkingSpotIntegrationTest {
+
+    @Autowired
+    WebTestClient testClient;
+
+    @Autowired
+    ParkingSpotService parkingSpotService;
+
+    private ParkingSpotResponseDto create(String code, String lot, int level) {
+        return testClient
+                .post()
+                .uri("/api/v1/parking-spots")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ParkingSpotCreateDto(code, lot, level))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(ParkingSpotResponseDto.class)
+                .returnResult().getResponseBody();
+    }
+
+    @Test()
+    public void createWithValidDataShouldReturnFreeSpotWithStatus201() {
+        ParkingSpotResponseDto responseBody = create("A-01", "A", 0);
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getId()).isNotNull();
+        assertThat(responseBody.getCode()).isEqualTo("A-01");
+        assertThat(responseBody.getStatus()).isEqualTo("FREE");
+    }
+
+    @Test()
+    public void createWithDuplicatedCodeShouldReturnErrorMessageWithStatus409() {
+        create("B-01", "B", 0);
+
+        // generates post request with the same code
+        ErrorMessage responseBody = testClient
+                .post()
+                .uri("/api/v1/parking-spots")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ParkingSpotCreateDto("B-01", "B", 0))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getStatus()).isEqualTo(HttpStatus.CONFLICT.value());
+    }
+
+    @Test()
+    public void createWithClientShouldReturnErrorMessageWithStatus403() {
+        // generates post request authenticated as a client
+        ErrorMessage responseBody = testClient
+                .post()
+                .uri("/api/v1/parking-spots")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "bia@email.com", "123456"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ParkingSpotCreateDto("C-01", "C", 0))
+                .exchange()
+                .expectStatus().isForbidden()
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getStatus()).isEqualTo(HttpStatus.FORBIDDEN.value());
+    }
+
+    @Test()
+    public void occupyFreeUntilLotIsFullShouldReturnErrorMessageWithStatus404() {
+        create("D-01", "D", 0);
+        create("D-02", "D", 1);
+
+        // occupies both spots of the lot
+        for (int i = 0; i < 2; i++) {
+            ParkingSpotResponseDto responseBody = testClient
+                    .post()
+                    .uri("/api/v1/parking-spots/occupation?lot=D")
+                    .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(ParkingSpotResponseDto.class)
+                    .returnResult().getResponseBody();
+
+            assertThat(responseBody).isNotNull();
+            assertThat(responseBody.getStatus()).isEqualTo("OCCUPIED");
+        }
+
+        // no free spot left
+        testClient
+                .post()
+                .uri("/api/v1/parking-spots/occupation?lot=D")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isNotFound();
+
+        // availability reflects the occupancy of each level
+        List<ParkingSpotAvailabilityDto> availability = testClient
+                .get()
+                .uri("/api/v1/parking-spots/availability?lot=D")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "bia@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(ParkingSpotAvailabilityDto.class)
+                .returnResult().getResponseBody();
+
+        assertThat(availability).isNotNull();
+        assertThat(availability).extracting(ParkingSpotAvailabilityDto::getFree).containsExactly(0, 0);
+        assertThat(availability).extracting(ParkingSpotAvailabilityDto::getTotal).containsExactly(1, 1);
+    }
+
+    @Test()
+    public void occupyAndReleaseSpecificSpotShouldToggleStatus() {
+        create("E-01", "E", 0);
+
+        // occupies the spot
+        testClient
+                .post()
+                .uri("/api/v1/parking-spots/E-01/occupation")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ParkingSpotResponseDto.class)
+                .value(spot -> assertThat(spot.getStatus()).isEqualTo("OCCUPIED"));
+
+        // occupying it again is a conflict
+        testClient
+                .post()
+                .uri("/api/v1/parking-spots/E-01/occupation")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+
+        // releases the spot
+        testClient
+                .delete()
+                .uri("/api/v1/parking-spots/E-01/occupation")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ParkingSpotResponseDto.class)
+                .value(spot -> assertThat(spot.getStatus()).isEqualTo("FREE"));
+    }
+
+    @Test()
+    public void streamAvailabilityShouldSendSnapshotThenOnlyChangedLevelsOnce() {
+        create("S-01", "S", 0);
+        create("S-02", "S", 0);
+        create("S-03", "S", 1);
+        AtomicInteger received = new AtomicInteger();
+
+        List<ServerSentEvent<List<ParkingSpotAvailabilityDto>>> events = testClient
+                .get()
+                .uri("/api/v1/parking-spots/availability/stream?lot=S")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "bia@email.com", "123456"))
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<List<ParkingSpotAvailabilityDto>>>() {})
+                .getResponseBody()
+                .filter(event -> event.data() != null) // skips keepalive comments
+                .doOnNext(event -> {
+                    // after the snapshot, a burst of changes on level 0 within one update interval
+                    if (received.incrementAndGet() == 1) {
+                        parkingSpotService.hold("S-01");
+                        parkingSpotService.hold("S-02");
+                        parkingSpotService.release("S-02");
+                        parkingSpotService.hold("S-02");
+                    }
+                })
+                .take(2)
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        // assertions
+        assertThat(events).hasSize(2);
+        assertThat(events.get(0).event()).isEqualTo("availability");
+        assertThat(events.get(0).data()).extracting(ParkingSpotAvailabilityDto::getLevel).containsExactly(0, 1);
+        assertThat(events.get(0).data()).extracting(ParkingSpotAvailabilityDto::getFree).containsExactly(2, 1);
+        // the burst arrives as a single update with the final count, and the unchanged level is not sent again
+        assertThat(events.get(1).data()).extracting(ParkingSpotAvailabilityDto::getLevel).containsExactly(0);
+        assertThat(events.get(1).data()).extracting(ParkingSpotAvailabilityDto::getFree).containsExactly(0);
+    }
+
+    @Test()
+    public void getByCodeWithNonExistentCodeShouldReturnErrorMessageWithStatus404() {
+        // generates get request and captures response
+        ErrorMessage responseBody = testClient
+                .get()
+                .uri("/api/v1/parking-spots/Z-99")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
+    }
+}
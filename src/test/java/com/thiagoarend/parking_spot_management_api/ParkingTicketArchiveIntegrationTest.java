@@ -0,0 +1,133 @@
+package com.thiagoarend.parking_spot_management_api;
+
+import com.thiagoarend.parking_spot_management_api.service.ParkingTicketArchiveService;
+import com.thiagoarend.parking_spot_management_api.service.ParkingTicketRollups;
+import com.thiagoarend.parking_spot_management_api.web.dto.ParkingTicketResponseDto;
+import com.thiagoarend.parking_spot_management_api.web.exception.ErrorMessage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// archive tables outlive each test, so the archived tickets use their own lot and ids
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Sql(scripts = {"/sql/users/users-insert.sql", "/sql/parking-tickets/parking-tickets-insert-archivable.sql"},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = {"/sql/parking-tickets/parking-tickets-delete.sql", "/sql/users/users-delete.sql"},
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class ParkingTicketArchiveIntegrationTest {
+
+    @Autowired
+    WebTestClient testClient;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ParkingTicketArchiveService archiveService;
+
+    private WebTestClient.ResponseSpec searchArchive(String query) {
+        return testClient
+                .get()
+                .uri("/api/v1/parking-tickets/archive?" + query)
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange();
+    }
+
+    @Test()
+    public void archiveShouldMoveOldClosedTicketsToMonthlyPartitionsSearchableAcrossMonths() {
+        int archived = archiveService.archive();
+
+        List<ParkingTicketResponseDto> all = searchArchive("from=2020-01-01T00:00:00&to=2020-04-01T00:00:00&lot=XA")
+                .expectStatus().isOk()
+                .expectBodyList(ParkingTicketResponseDto.class)
+                .returnResult().getResponseBody();
+        List<ParkingTicketResponseDto> byPlate = searchArchive("from=2020-01-01T00:00:00&to=2020-04-01T00:00:00&plate=xaa-0001")
+                .expectStatus().isOk()
+                .expectBodyList(ParkingTicketResponseDto.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(archived).isEqualTo(3);
+        // open and recent tickets stay in the live table
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM parking_tickets WHERE lot = 'XA'", String.class))
+                .containsExactlyInAnyOrder("a0000000-0000-0000-0000-000000000004", "a0000000-0000-0000-0000-000000000005");
+        // partitioned by exit month
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM parking_tickets_archive_202001", Integer.class)).isEqualTo(1);
+        // the charged role moves with the ticket, for fee audits over archived months
+        assertThat(jdbcTemplate.queryForObject("SELECT fee_role FROM parking_tickets_archive_202001", String.class)).isEqualTo("ROLE_ADMIN");
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM parking_tickets_archive_202002", Integer.class)).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT ticket_count FROM parking_ticket_archive_partitions WHERE archive_month = '2020-02'",
+                Long.class)).isEqualTo(2);
+        assertThat(all).extracting(ParkingTicketResponseDto::getId).containsExactly("a0000000-0000-0000-0000-000000000003",
+                "a0000000-0000-0000-0000-000000000002", "a0000000-0000-0000-0000-000000000001");
+        assertThat(all).extracting(ParkingTicketResponseDto::getStatus).containsOnly("CLOSED");
+        assertThat(byPlate).extracting(ParkingTicketResponseDto::getId).containsExactly("a0000000-0000-0000-0000-000000000003",
+                "a0000000-0000-0000-0000-000000000001");
+        // nothing left to archive
+        assertThat(archiveService.archive()).isZero();
+    }
+
+    private void insertClosedTicket(String id, String plate, LocalDateTime entryDate, LocalDateTime exitDate, String fee) {
+        jdbcTemplate.update("INSERT INTO parking_tickets (id, plate, lot, spot_level, spot_code, entry_date, exit_date, status, fee) " +
+                        "VALUES (?, ?, 'XR', 0, 'XR-01', ?, ?, 'CLOSED', ?)",
+                id, plate, Timestamp.valueOf(entryDate), Timestamp.valueOf(exitDate), new BigDecimal(fee));
+    }
+
+    // two windows because a stats query is limited to 31 days
+    private List<ParkingTicketRollups.HourlyStats> statsOf(ParkingTicketRollups rollups) {
+        List<ParkingTicketRollups.HourlyStats> stats = new ArrayList<>(rollups.stats("XR",
+                LocalDateTime.of(2019, 10, 1, 0, 0), LocalDateTime.of(2019, 10, 31, 0, 0)));
+        stats.addAll(rollups.stats("XR", LocalDateTime.of(2019, 10, 31, 0, 0), LocalDateTime.of(2019, 12, 1, 0, 0)));
+        return stats;
+    }
+
+    @Test()
+    public void rebuildStatsAfterArchiveShouldKeepRollupsOfArchivedTickets(@Autowired ParkingTicketRollups rollups) {
+        // the class tickets are archived by their own test; this one archives only its own lot
+        jdbcTemplate.update("DELETE FROM parking_tickets WHERE lot = 'XA'");
+        insertClosedTicket("b0000000-0000-0000-0000-000000000001", "XRA0001",
+                LocalDateTime.of(2019, 10, 10, 8, 0), LocalDateTime.of(2019, 10, 10, 10, 0), "20.00");
+        insertClosedTicket("b0000000-0000-0000-0000-000000000002", "XRA0002",
+                LocalDateTime.of(2019, 10, 31, 23, 0), LocalDateTime.of(2019, 11, 1, 1, 30), "30.00");
+        insertClosedTicket("b0000000-0000-0000-0000-000000000003", "XRA0001",
+                LocalDateTime.of(2019, 11, 15, 9, 0), LocalDateTime.of(2019, 11, 15, 9, 30), "10.00");
+        LocalDateTime from = LocalDateTime.of(2019, 10, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2019, 12, 1, 0, 0);
+
+        rollups.rebuild(from, to);
+        List<ParkingTicketRollups.HourlyStats> live = statsOf(rollups);
+        int archived = archiveService.archive();
+        rollups.rebuild(from, to);
+
+        // assertions
+        assertThat(archived).isEqualTo(3);
+        assertThat(live.stream().mapToLong(ParkingTicketRollups.HourlyStats::checkIns).sum()).isEqualTo(3);
+        assertThat(live.stream().map(ParkingTicketRollups.HourlyStats::revenue).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .isEqualByComparingTo("60.00");
+        // the same aggregates are rebuilt from the monthly tables
+        assertThat(statsOf(rollups)).isEqualTo(live);
+    }
+
+    @Test()
+    public void searchArchiveWithTooLongPeriodShouldReturnErrorMessageWithStatus400() {
+        ErrorMessage responseBody = searchArchive("from=2000-01-01T00:00:00&to=2020-01-01T00:00:00")
+                .expectStatus().isBadRequest()
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getStatus()).isEqualTo(400);
+    }
+}
@@ -0,0 +1,685 @@
+package com.thiagoarend.parking_spot_management_api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thiagoarend.parking_spot_management_api.entity.ParkingSpot;
+import com.thiagoarend.parking_spot_management_api.entity.ParkingTicket;
+import com.thiagoarend.parking_spot_management_api.entity.User;
+import com.thiagoarend.parking_spot_management_api.exception.ParkingTicketStatusException;
+import com.thiagoarend.parking_spot_management_api.repository.ParkingSpotRepository;
+import com.thiagoarend.parking_spot_management_api.repository.ParkingTicketRepository;
+import com.thiagoarend.parking_spot_management_api.service.ParkingSpotOccupancyIndex;
+import com.thiagoarend.parking_spot_management_api.service.ParkingSpotService;
+import com.thiagoarend.parking_spot_management_api.service.ParkingTicketEvent;
+import com.thiagoarend.parking_spot_management_api.service.ParkingTicketJournal;
+import com.thiagoarend.parking_spot_management_api.service.ParkingTicketRollups;
+import com.thiagoarend.parking_spot_management_api.service.ParkingTicketService;
+import com.thiagoarend.parking_spot_management_api.service.TariffEngine;
+import com.thiagoarend.parking_spot_management_api.service.VehiclePlateIndex;
+import com.thiagoarend.parking_spot_management_api.web.dto.ParkingFeeDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.ParkingLotStatsDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.ParkingSpotCreateDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.ParkingSpotResponseDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.ParkingTicketCheckInDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.ParkingTicketResponseDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.TariffDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.TariffSimulationDto;
+import com.thiagoarend.parking_spot_management_api.web.exception.ErrorMessage;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// open tickets and the occupancy index live in memory for the whole context, so each test uses its own lot and plates
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Sql(scripts = "/sql/users/users-insert.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = {"/sql/parking-tickets/parking-tickets-delete.sql", "/sql/parking-spots/parking-spots-delete.sql",
+        "/sql/users/users-delete.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class ParkingTicketIntegrationTest {
+
+    @Autowired
+    WebTestClient testClient;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ParkingTicketService parkingTicketService;
+
+    private void createSpot(String code, String lot, int level) {
+        testClient
+                .post()
+                .uri("/api/v1/parking-spots")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ParkingSpotCreateDto(code, lot, level))
+                .exchange()
+                .expectStatus().isCreated();
+    }
+
+    private WebTestClient.ResponseSpec checkIn(String plate, String lot) {
+        return testClient
+                .post()
+                .uri("/api/v1/parking-tickets/check-in")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ParkingTicketCheckInDto(plate, lot, null))
+                .exchange();
+    }
+
+    private ParkingSpotResponseDto getSpot(String code) {
+        return testClient
+                .get()
+                .uri("/api/v1/parking-spots/" + code)
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ParkingSpotResponseDto.class)
+                .returnResult().getResponseBody();
+    }
+
+    @Test()
+    public void checkInWithFreeSpotShouldReturnOpenTicketWithStatus201() {
+        createSpot("TA-01", "TA", 0);
+
+        ParkingTicketResponseDto responseBody = checkIn("abc-1234", "TA")
+                .expectStatus().isCreated()
+                .expectBody(ParkingTicketResponseDto.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getId()).isNotNull();
+        assertThat(responseBody.getPlate()).isEqualTo("ABC1234");
+        assertThat(responseBody.getSpotCode()).isEqualTo("TA-01");
+        assertThat(responseBody.getStatus()).isEqualTo("OPEN");
+        assertThat(responseBody.getExitDate()).isNull();
+        assertThat(getSpot("TA-01").getStatus()).isEqualTo("OCCUPIED");
+    }
+
+    @Test()
+    public void checkInWithPlateOfOnlyHyphensShouldReturnErrorMessageWithStatus422() {
+        createSpot("TL-01", "TL", 0);
+
+        ErrorMessage responseBody = checkIn("-----", "TL")
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY)
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        // assertions: the plate would normalize to an empty key
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getStatus()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY.value());
+        assertThat(getSpot("TL-01").getStatus()).isEqualTo("FREE");
+    }
+
+    @Test()
+    public void checkInWithVehicleAlreadyInsideShouldReturnErrorMessageWithStatus409() {
+        createSpot("TB-01", "TB", 0);
+        createSpot("TB-02", "TB", 0);
+        checkIn("TBA0001", "TB").expectStatus().isCreated();
+
+        ErrorMessage responseBody = checkIn("TBA0001", "TB")
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getStatus()).isEqualTo(HttpStatus.CONFLICT.value());
+        assertThat(getSpot("TB-02").getStatus()).isEqualTo("FREE");
+    }
+
+    @Test()
+    public void checkInWithFullLotShouldReturnErrorMessageWithStatus404() {
+        createSpot("TC-01", "TC", 0);
+        checkIn("TCA0001", "TC").expectStatus().isCreated();
+
+        ErrorMessage responseBody = checkIn("TCA0002", "TC")
+                .expectStatus().isNotFound()
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getStatus()).isEqualTo(404);
+    }
+
+    @Test()
+    public void checkOutShouldCloseTicketReleaseSpotAndRejectSecondCheckOutWithStatus409() {
+        createSpot("TD-01", "TD", 0);
+        ParkingTicketResponseDto ticket = checkIn("TDA0001", "TD")
+                .expectStatus().isCreated()
+                .expectBody(ParkingTicketResponseDto.class)
+                .returnResult().getResponseBody();
+
+        ParkingTicketResponseDto responseBody = testClient
+                .post()
+                .uri("/api/v1/parking-tickets/" + ticket.getId() + "/check-out")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ParkingTicketResponseDto.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getStatus()).isEqualTo("CLOSED");
+        assertThat(responseBody.getExitDate()).isNotNull();
+        assertThat(getSpot("TD-01").getStatus()).isEqualTo("FREE");
+
+        testClient
+                .post()
+                .uri("/api/v1/parking-tickets/" + ticket.getId() + "/check-out")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test()
+    public void concurrentCheckOutsShouldCloseOnceAndKeepTicketFindable() throws Exception {
+        createSpot("TN-01", "TN", 0);
+        for (int i = 0; i < 1000; i++) {
+            String id = parkingTicketService.checkIn(String.format("TNA%04d", i), "TN", null).getId();
+            CyclicBarrier start = new CyclicBarrier(3);
+            AtomicBoolean done = new AtomicBoolean();
+            // the reader must find the ticket in memory during the whole check-out, open or closed
+            CompletableFuture<Void> reader = CompletableFuture.runAsync(() -> {
+                await(start);
+                while (!done.get()) {
+                    parkingTicketService.findById(id);
+                }
+            });
+            List<CompletableFuture<Boolean>> checkOuts = List.of(checkOutAsync(id, start), checkOutAsync(id, start));
+
+            long closed = checkOuts.stream().filter(CompletableFuture::join).count();
+            done.set(true);
+            reader.get(10, TimeUnit.SECONDS);
+
+            assertThat(closed).isEqualTo(1);
+            assertThat(parkingTicketService.findById(id).getStatus()).isEqualTo(ParkingTicket.Status.CLOSED);
+        }
+    }
+
+    private CompletableFuture<Boolean> checkOutAsync(String id, CyclicBarrier start) {
+        return CompletableFuture.supplyAsync(() -> {
+            await(start);
+            try {
+                parkingTicketService.checkOut(id, User.Role.ROLE_CLIENT);
+                return true;
+            } catch (ParkingTicketStatusException ex) {
+                return false;
+            }
+        });
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(10, TimeUnit.SECONDS);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @Test()
+    public void checkOutByPlateShouldBePersistedOnFlushAndReturnedById() {
+        createSpot("TE-01", "TE", 0);
+        ParkingTicketResponseDto ticket = checkIn("TEA0001", "TE")
+                .expectStatus().isCreated()
+                .expectBody(ParkingTicketResponseDto.class)
+                .returnResult().getResponseBody();
+
+        testClient
+                .post()
+                .uri("/api/v1/parking-tickets/check-out?plate=tea-0001")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk();
+
+        // forces the write-behind cycle instead of waiting for the scheduler
+        parkingTicketService.flush();
+        String status = jdbcTemplate.queryForObject(
+                "SELECT status FROM parking_tickets WHERE id = ?", String.class, ticket.getId());
+        assertThat(status).isEqualTo("CLOSED");
+
+        ParkingTicketResponseDto responseBody = testClient
+                .get()
+                .uri("/api/v1/parking-tickets/" + ticket.getId())
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ParkingTicketResponseDto.class)
+                .returnResult().getResponseBody();
+
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getStatus()).isEqualTo("CLOSED");
+        assertThat(responseBody.getPlate()).isEqualTo("TEA0001");
+    }
+
+    @Test()
+    public void checkInWithClientShouldReturnErrorMessageWithStatus403() {
+        ErrorMessage responseBody = testClient
+                .post()
+                .uri("/api/v1/parking-tickets/check-in")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "bia@email.com", "123456"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ParkingTicketCheckInDto("TFA0001", "TF", null))
+                .exchange()
+                .expectStatus().isForbidden()
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getStatus()).isEqualTo(403);
+    }
+
+    @Test()
+    public void recoverShouldReplayJournalLeftByCrashIdempotently(
+            @TempDir Path journalDirectory,
+            @Autowired ObjectMapper objectMapper,
+            @Autowired ParkingTicketRepository parkingTicketRepository,
+            @Autowired ParkingSpotService parkingSpotService,
+            @Autowired EntityManager entityManager,
+            @Autowired TransactionTemplate transactionTemplate,
+            @Autowired @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+            @Autowired TariffEngine tariffEngine,
+            @Autowired ParkingTicketRollups rollups,
+            @Autowired VehiclePlateIndex plateIndex) throws Exception {
+        createSpot("TG-01", "TG", 0);
+        createSpot("TG-02", "TG", 0);
+
+        // acknowledged events that never reached the database before the process died
+        ParkingTicket open = ticket("TGA0001", "TG-01", "TG");
+        ParkingTicket closed = ticket("TGA0002", "TG-02", "TG");
+        closed.setExitDate(closed.getEntryDate().plusHours(1));
+        ParkingTicketJournal crashed = new ParkingTicketJournal(objectMapper, journalDirectory, true);
+        crashed.append(ParkingTicketEvent.checkIn(open));
+        crashed.append(ParkingTicketEvent.checkIn(closed));
+        crashed.append(ParkingTicketEvent.checkOut(closed));
+        Path segment;
+        try (var files = Files.list(journalDirectory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        byte[] segmentContent = Files.readAllBytes(segment);
+
+        for (int run = 0; run < 2; run++) {
+            ParkingTicketJournal restarted = new ParkingTicketJournal(objectMapper, journalDirectory, true);
+            new ParkingTicketService(parkingTicketRepository, parkingSpotService, restarted, entityManager,
+                    transactionTemplate, taskExecutor, tariffEngine, rollups, plateIndex, 200).recover();
+            try (var files = Files.list(journalDirectory)) {
+                assertThat(files.count()).isZero();
+            }
+            // replaying the same segment again must not duplicate or reopen tickets
+            Files.write(segment, segmentContent);
+        }
+
+        // assertions
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM parking_tickets WHERE plate IN ('TGA0001', 'TGA0002')",
+                Integer.class)).isEqualTo(2);
+        assertThat(parkingTicketRepository.findById(open.getId()).orElseThrow().getStatus()).isEqualTo(ParkingTicket.Status.OPEN);
+        assertThat(parkingTicketRepository.findById(closed.getId()).orElseThrow().getStatus()).isEqualTo(ParkingTicket.Status.CLOSED);
+        // the open ticket's spot is occupied again even though its status never reached the database
+        assertThat(getSpot("TG-01").getStatus()).isEqualTo("OCCUPIED");
+        assertThat(getSpot("TG-02").getStatus()).isEqualTo("FREE");
+        // the replays counted each check-in and check-out only once in the hourly aggregates
+        List<ParkingTicketRollups.HourlyStats> stats = rollups.stats("TG", open.getEntryDate(), open.getEntryDate().plusHours(2));
+        assertThat(stats.stream().mapToLong(ParkingTicketRollups.HourlyStats::checkIns).sum()).isEqualTo(2);
+        assertThat(stats.stream().mapToLong(ParkingTicketRollups.HourlyStats::checkOuts).sum()).isEqualTo(1);
+    }
+
+    @Test()
+    public void recoverShouldReleaseOccupiedSpotWithoutOpenTicket(
+            @TempDir Path journalDirectory,
+            @Autowired ObjectMapper objectMapper,
+            @Autowired ParkingTicketRepository parkingTicketRepository,
+            @Autowired ParkingSpotService parkingSpotService,
+            @Autowired EntityManager entityManager,
+            @Autowired TransactionTemplate transactionTemplate,
+            @Autowired @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+            @Autowired TariffEngine tariffEngine,
+            @Autowired ParkingTicketRollups rollups,
+            @Autowired VehiclePlateIndex plateIndex) {
+        createSpot("TK-01", "TK", 0);
+        createSpot("TK-02", "TK", 0);
+        checkIn("TKA0001", "TK").expectStatus().isCreated();
+        ParkingTicketResponseDto ticket = checkIn("TKA0002", "TK")
+                .expectStatus().isCreated()
+                .expectBody(ParkingTicketResponseDto.class)
+                .returnResult().getResponseBody();
+        testClient
+                .post()
+                .uri("/api/v1/parking-tickets/" + ticket.getId() + "/check-out")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk();
+        parkingTicketService.flush();
+
+        // the check-out reached the database, but the delayed release of its spot was lost in a crash
+        jdbcTemplate.update("UPDATE parking_spots SET status = 'OCCUPIED' WHERE code = ?", ticket.getSpotCode());
+        parkingSpotService.restoreOccupied(ticket.getSpotCode());
+
+        new ParkingTicketService(parkingTicketRepository, parkingSpotService,
+                new ParkingTicketJournal(objectMapper, journalDirectory, true), entityManager, transactionTemplate,
+                taskExecutor, tariffEngine, rollups, plateIndex, 200).recover();
+        parkingSpotService.flushOccupancy();
+
+        // assertions: only the spot with an open ticket stays occupied
+        String openSpot = ticket.getSpotCode().equals("TK-01") ? "TK-02" : "TK-01";
+        assertThat(getSpot(openSpot).getStatus()).isEqualTo("OCCUPIED");
+        assertThat(getSpot(ticket.getSpotCode()).getStatus()).isEqualTo("FREE");
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM parking_spots WHERE code = ?", String.class,
+                ticket.getSpotCode())).isEqualTo("FREE");
+    }
+
+    @Test()
+    public void recoverShouldKeepManuallyHeldSpotsOccupied(
+            @TempDir Path journalDirectory,
+            @Autowired ObjectMapper objectMapper,
+            @Autowired ParkingTicketRepository parkingTicketRepository,
+            @Autowired ParkingSpotRepository parkingSpotRepository,
+            @Autowired ParkingSpotService parkingSpotService,
+            @Autowired EntityManager entityManager,
+            @Autowired TransactionTemplate transactionTemplate,
+            @Autowired @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+            @Autowired TariffEngine tariffEngine,
+            @Autowired ParkingTicketRollups rollups,
+            @Autowired VehiclePlateIndex plateIndex) {
+        createSpot("TM-01", "TM", 0);
+        createSpot("TM-02", "TM", 0);
+
+        // an admin holds both spots by hand, without tickets
+        testClient
+                .post()
+                .uri("/api/v1/parking-spots/TM-01/occupation")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk();
+        testClient
+                .post()
+                .uri("/api/v1/parking-spots/occupation?lot=TM")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk();
+
+        new ParkingTicketService(parkingTicketRepository, parkingSpotService,
+                new ParkingTicketJournal(objectMapper, journalDirectory, true), entityManager, transactionTemplate,
+                taskExecutor, tariffEngine, rollups, plateIndex, 200).recover();
+        parkingSpotService.flushOccupancy();
+
+        // assertions: recovery does not release manual holds
+        assertThat(getSpot("TM-01").getStatus()).isEqualTo("OCCUPIED");
+        assertThat(getSpot("TM-02").getStatus()).isEqualTo("OCCUPIED");
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM parking_spots WHERE lot = 'TM' AND manual_hold",
+                Integer.class)).isEqualTo(2);
+
+        // the hold is persisted right away, so a restart keeps it even if the delayed status write was lost
+        jdbcTemplate.update("UPDATE parking_spots SET status = 'FREE' WHERE code = 'TM-01'");
+        ParkingSpotOccupancyIndex restartedIndex = new ParkingSpotOccupancyIndex();
+        assertThat(restartedIndex.register(parkingSpotRepository.findByCode("TM-01").orElseThrow()).getStatus())
+                .isEqualTo(ParkingSpot.Status.OCCUPIED);
+
+        // releasing the spot clears the hold
+        testClient
+                .delete()
+                .uri("/api/v1/parking-spots/TM-01/occupation")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk();
+        assertThat(jdbcTemplate.queryForObject("SELECT manual_hold FROM parking_spots WHERE code = 'TM-01'",
+                Boolean.class)).isFalse();
+    }
+
+    private List<ParkingLotStatsDto> getStats(String lot, LocalDateTime from, LocalDateTime to) {
+        return testClient
+                .get()
+                .uri(builder -> builder.path("/api/v1/parking-tickets/stats")
+                        .queryParam("lot", lot)
+                        .queryParam("from", from)
+                        .queryParam("to", to)
+                        .build())
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(ParkingLotStatsDto.class)
+                .returnResult().getResponseBody();
+    }
+
+    @Test()
+    public void statsShouldReflectFlushedTicketsAndMatchRebuild() {
+        createSpot("TH-01", "TH", 0);
+        createSpot("TH-02", "TH", 0);
+        LocalDateTime from = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime to = from.plusHours(2);
+        ParkingTicketResponseDto ticket = checkIn("THA0001", "TH")
+                .expectStatus().isCreated()
+                .expectBody(ParkingTicketResponseDto.class)
+                .returnResult().getResponseBody();
+        checkIn("THA0002", "TH").expectStatus().isCreated();
+
+        ParkingTicketResponseDto closed = testClient
+                .post()
+                .uri("/api/v1/parking-tickets/" + ticket.getId() + "/check-out")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ParkingTicketResponseDto.class)
+                .returnResult().getResponseBody();
+        parkingTicketService.flush();
+
+        List<ParkingLotStatsDto> stats = getStats("TH", from, to);
+
+        // assertions
+        assertThat(closed.getFee()).isEqualByComparingTo("10.00");
+        assertThat(stats).hasSize(2);
+        assertThat(stats.get(0).getHour()).isEqualTo(from);
+        assertThat(stats.stream().mapToLong(ParkingLotStatsDto::getCheckIns).sum()).isEqualTo(2);
+        assertThat(stats.stream().mapToLong(ParkingLotStatsDto::getCheckOuts).sum()).isEqualTo(1);
+        assertThat(stats.stream().map(ParkingLotStatsDto::getRevenue).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .isEqualByComparingTo("10.00");
+        assertThat(jdbcTemplate.queryForObject("SELECT fee FROM parking_tickets WHERE id = ?", BigDecimal.class, ticket.getId()))
+                .isEqualByComparingTo("10.00");
+
+        // recomputing from the tickets gives the same numbers as the incremental maintenance
+        testClient
+                .post()
+                .uri(builder -> builder.path("/api/v1/parking-tickets/stats/rebuild")
+                        .queryParam("from", from)
+                        .queryParam("to", to)
+                        .build())
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isNoContent();
+
+        assertThat(getStats("TH", from, to)).usingRecursiveFieldByFieldElementComparator().isEqualTo(stats);
+    }
+
+    @Test()
+    public void statsWithInvertedPeriodShouldReturnErrorMessageWithStatus400() {
+        LocalDateTime now = LocalDateTime.now();
+
+        ErrorMessage responseBody = testClient
+                .get()
+                .uri(builder -> builder.path("/api/v1/parking-tickets/stats")
+                        .queryParam("lot", "TI")
+                        .queryParam("from", now)
+                        .queryParam("to", now.minusHours(1))
+                        .build())
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getStatus()).isEqualTo(400);
+    }
+
+    private static ParkingTicket ticket(String plate, String spotCode, String lot) {
+        ParkingTicket ticket = new ParkingTicket();
+        ticket.setId(UUID.randomUUID().toString());
+        ticket.setPlate(plate);
+        ticket.setLot(lot);
+        ticket.setLevel(0);
+        ticket.setSpotCode(spotCode);
+        ticket.setEntryDate(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        return ticket;
+    }
+
+    @Test()
+    public void getFeeOfOpenTicketWithClientShouldReturnFeeUntilNowWithStatus200() {
+        createSpot("TJ-01", "TJ", 0);
+        ParkingTicketResponseDto ticket = checkIn("TJA0001", "TJ")
+                .expectStatus().isCreated()
+                .expectBody(ParkingTicketResponseDto.class)
+                .returnResult().getResponseBody();
+
+        ParkingFeeDto responseBody = testClient
+                .get()
+                .uri("/api/v1/parking-tickets/" + ticket.getId() + "/fee")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "bia@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ParkingFeeDto.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getTicketId()).isEqualTo(ticket.getId());
+        assertThat(responseBody.getStatus()).isEqualTo("OPEN");
+        assertThat(responseBody.getUntil()).isAfterOrEqualTo(ticket.getEntryDate());
+        // default tariff of the tests: one hour at 10.00, no discounts
+        assertThat(responseBody.getFee()).isEqualByComparingTo("10.00");
+    }
+
+    @Test()
+    public void simulateFeesWithTariffShouldRecomputeClosedTicketsPerLotWithStatus200(
+            @Autowired ParkingTicketRepository parkingTicketRepository) {
+        parkingTicketRepository.saveAll(List.of(
+                closedTicket("XFF0001", "2021-03-01T10:00", "2021-03-01T12:30", "30.00"),
+                closedTicket("XFF0002", "2021-03-01T23:00", "2021-03-02T01:00", "20.00"),
+                closedTicket("XFF0003", "2021-03-02T08:00", "2021-03-04T08:00", "480.00")));
+        // 5.00 for the first hour then 3.00, 1.00 from 22h to 6h, at most 40.00 per day and half price for staff
+        TariffDto tariff = new TariffDto(
+                List.of(new TariffDto.Band(1, new BigDecimal("5.00")), new TariffDto.Band(0, new BigDecimal("3.00"))),
+                new TariffDto.Night(22, 6, new BigDecimal("1.00")), new BigDecimal("40.00"), 0, Map.of("ROLE_ADMIN", 50));
+
+        List<TariffSimulationDto> clients = simulateFees("ROLE_CLIENT", tariff);
+        List<TariffSimulationDto> staff = simulateFees("ROLE_ADMIN", tariff);
+
+        // assertions
+        // 10h-12h30: 5.00 + 3.00 + 3.00; 23h-1h: two night hours; two full capped days
+        assertThat(clients).singleElement().satisfies(lot -> {
+            assertThat(lot.getTickets()).isEqualTo(3);
+            assertThat(lot.getRecordedRevenue()).isEqualByComparingTo("530.00");
+            assertThat(lot.getSimulatedRevenue()).isEqualByComparingTo("93.00");
+            assertThat(lot.getMismatches()).isEqualTo(3);
+        });
+        assertThat(staff).singleElement().satisfies(lot -> assertThat(lot.getSimulatedRevenue()).isEqualByComparingTo("46.50"));
+    }
+
+    @Test()
+    public void simulateFeesWithoutRoleShouldAuditEachTicketWithItsChargedRole() {
+        createSpot("XS-01", "XS", 0);
+        createSpot("XS-02", "XS", 0);
+        ParkingTicketResponseDto staff = checkIn("XSA0001", "XS")
+                .expectStatus().isCreated()
+                .expectBody(ParkingTicketResponseDto.class)
+                .returnResult().getResponseBody();
+        ParkingTicketResponseDto client = checkIn("XSA0002", "XS")
+                .expectStatus().isCreated()
+                .expectBody(ParkingTicketResponseDto.class)
+                .returnResult().getResponseBody();
+        // the gate charges the staff vehicle with the ROLE_ADMIN discount of lot XS and the other one as a client
+        testClient
+                .post()
+                .uri("/api/v1/parking-tickets/" + staff.getId() + "/check-out?role=ROLE_ADMIN")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk();
+        testClient
+                .post()
+                .uri("/api/v1/parking-tickets/" + client.getId() + "/check-out")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk();
+        parkingTicketService.flush();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        String period = "from=" + now.minusHours(1) + "&to=" + now.plusHours(1);
+
+        List<TariffSimulationDto> audit = testClient
+                .post()
+                .uri("/api/v1/parking-tickets/fees/simulation?" + period)
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TariffSimulationDto.class)
+                .returnResult().getResponseBody();
+        List<TariffSimulationDto> asClients = testClient
+                .post()
+                .uri("/api/v1/parking-tickets/fees/simulation?" + period + "&role=ROLE_CLIENT")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TariffSimulationDto.class)
+                .returnResult().getResponseBody();
+
+        // assertions: each ticket is recomputed with the role it was charged with, so the audit finds no mismatch
+        assertThat(audit).filteredOn(lot -> lot.getLot().equals("XS")).singleElement().satisfies(lot -> {
+            assertThat(lot.getTickets()).isEqualTo(2);
+            assertThat(lot.getRecordedRevenue()).isEqualByComparingTo("15.00");
+            assertThat(lot.getSimulatedRevenue()).isEqualByComparingTo("15.00");
+            assertThat(lot.getMismatches()).isZero();
+        });
+        // a role in the request overrides the charged one
+        assertThat(asClients).filteredOn(lot -> lot.getLot().equals("XS")).singleElement().satisfies(lot -> {
+            assertThat(lot.getSimulatedRevenue()).isEqualByComparingTo("20.00");
+            assertThat(lot.getMismatches()).isEqualTo(1);
+        });
+    }
+
+    private static ParkingTicket closedTicket(String plate, String entryDate, String exitDate, String fee) {
+        ParkingTicket ticket = ticket(plate, "XF-01", "XF");
+        ticket.setEntryDate(LocalDateTime.parse(entryDate));
+        ticket.setExitDate(LocalDateTime.parse(exitDate));
+        ticket.setStatus(ParkingTicket.Status.CLOSED);
+        ticket.setFee(new BigDecimal(fee));
+        return ticket;
+    }
+
+    private List<TariffSimulationDto> simulateFees(String role, TariffDto tariff) {
+        return testClient
+                .post()
+                .uri("/api/v1/parking-tickets/fees/simulation?from=2021-03-01T00:00:00&to=2021-03-05T00:00:00&role=" + role)
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(tariff)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TariffSimulationDto.class)
+                .returnResult().getResponseBody();
+    }
+}
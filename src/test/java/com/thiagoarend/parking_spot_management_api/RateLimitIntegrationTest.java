@@ -0,0 +1,171 @@
+package com.thiagoarend.parking_spot_management_api;
+
+import com.thiagoarend.parking_spot_management_api.config.RateLimitProperties;
+import com.thiagoarend.parking_spot_management_api.ratelimit.LoadShedder;
+import com.thiagoarend.parking_spot_management_api.ratelimit.RateLimiter;
+import com.thiagoarend.parking_spot_management_api.web.dto.UserCreateDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.UserLoginDto;
+import com.thiagoarend.parking_spot_management_api.web.exception.ErrorMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Sql(scripts = "/sql/users/users-insert.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/sql/users/users-delete.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+@TestPropertySource(properties = {
+        "api.rate-limit.rules[0].method=POST",
+        "api.rate-limit.rules[0].pattern=/api/v1/users",
+        "api.rate-limit.rules[0].capacity=2",
+        "api.rate-limit.rules[0].refill-tokens=1",
+        "api.rate-limit.rules[0].refill-period=1m",
+        "api.rate-limit.rules[1].method=GET",
+        "api.rate-limit.rules[1].pattern=/api/v1/users/{id}",
+        "api.rate-limit.rules[1].capacity=2",
+        "api.rate-limit.rules[1].refill-tokens=1",
+        "api.rate-limit.rules[1].refill-period=1m",
+        "api.rate-limit.shedding.latency-threshold=2s",
+        "api.rate-limit.shedding.smoothing=1",
+        "api.rate-limit.shedding.max-shed-ratio=1"
+})
+public class RateLimitIntegrationTest {
+
+    @Autowired
+    WebTestClient testClient;
+
+    @Autowired
+    LoadShedder loadShedder;
+
+    @Test
+    public void createUserAboveTheLimitShouldReturnErrorMessageWithStatus429AndRetryAfter() {
+        // invalid payloads still consume tokens, without creating users
+        for (int i = 0; i < 2; i++) {
+            testClient
+                    .post()
+                    .uri("/api/v1/users")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(new UserCreateDto("", "123456"))
+                    .exchange()
+                    .expectStatus().isEqualTo(422);
+        }
+
+        ErrorMessage responseBody = testClient
+                .post()
+                .uri("/api/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserCreateDto("", "123456"))
+                .exchange()
+                .expectStatus().isEqualTo(429)
+                .expectHeader().value(HttpHeaders.RETRY_AFTER, retryAfter ->
+                        assertThat(Long.parseLong(retryAfter)).isBetween(1L, TimeUnit.MINUTES.toSeconds(1)))
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getStatus()).isEqualTo(429);
+        assertThat(responseBody.getPath()).isEqualTo("/api/v1/users");
+    }
+
+    @Test
+    public void authenticatedClientsShouldBeLimitedByUserId() {
+        var anaHeaders = JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456");
+        var bobHeaders = JwtAuthentication.getHeaderAuthorization(testClient, "bob@email.com", "123456");
+
+        for (int i = 0; i < 2; i++) {
+            testClient.get().uri("/api/v1/users/100").headers(anaHeaders)
+                    .exchange()
+                    .expectStatus().isOk();
+        }
+        testClient.get().uri("/api/v1/users/100").headers(anaHeaders)
+                .exchange()
+                .expectStatus().isEqualTo(429);
+
+        // same address, different user: separate bucket
+        testClient.get().uri("/api/v1/users/102").headers(bobHeaders)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    public void requestsAboveTheLatencyThresholdShouldBeShedWithStatus503() {
+        loadShedder.record(TimeUnit.SECONDS.toNanos(10));
+
+        ErrorMessage responseBody = testClient
+                .get()
+                .uri("/api/v1/users/availability?username=tod@email.com")
+                .exchange()
+                .expectStatus().isEqualTo(503)
+                .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "1")
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getStatus()).isEqualTo(503);
+
+        // latency back to normal: requests pass again
+        loadShedder.record(0);
+        testClient
+                .get()
+                .uri("/api/v1/users/availability?username=tod@email.com")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    public void singleSlowRequestShouldNotTriggerShedding() {
+        loadShedder.record(0);
+
+        // a request far above the threshold counts at most max-sample (1s) in the average
+        loadShedder.recordRequest(TimeUnit.SECONDS.toNanos(30));
+
+        // assertions
+        assertThat(loadShedder.isOverloaded()).isFalse();
+        // route without a rate limit rule in this class
+        testClient
+                .post()
+                .uri("/api/v1/auth")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserLoginDto("ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    public void rulesWithoutRefillShouldBeRejectedAtStartup() {
+        // refill-tokens 0 would divide by zero; more tokens than nanoseconds would refill instantly
+        RateLimitProperties.Rule noRefill = rule(2, 0, Duration.ofMinutes(1));
+        RateLimitProperties.Rule instantRefill = rule(2, 10, Duration.ofNanos(5));
+        RateLimitProperties.Rule noCapacity = rule(0, 1, Duration.ofMinutes(1));
+
+        for (RateLimitProperties.Rule rule : List.of(noRefill, instantRefill, noCapacity)) {
+            RateLimitProperties properties = new RateLimitProperties();
+            properties.setRules(List.of(rule));
+            assertThatThrownBy(() -> new RateLimiter(properties, new SimpleMeterRegistry()))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageStartingWith("Rate limit rule '/api/v1/users'");
+        }
+    }
+
+    private static RateLimitProperties.Rule rule(int capacity, int refillTokens, Duration refillPeriod) {
+        RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+        rule.setPattern("/api/v1/users");
+        rule.setCapacity(capacity);
+        rule.setRefillTokens(refillTokens);
+        rule.setRefillPeriod(refillPeriod);
+        return rule;
+    }
+}
@@ -0,0 +1,199 @@
+package com.thiagoarend.parking_spot_management_api;
+
+import com.thiagoarend.parking_spot_management_api.web.dto.UserCreateDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.UserLoginDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.UserPasswordDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.UserResponseDto;
+import com.thiagoarend.parking_spot_management_api.web.exception.ErrorMessage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Sql(scripts = "/sql/users/users-insert.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/sql/users/users-delete.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class ReactiveUserIntegrationTest {
+
+    @Autowired
+    WebTestClient testClient;
+
+    @Test()
+    public void getByIdWithAdminShouldReturnUserWithStatus200() {
+        UserResponseDto responseBody = testClient
+                .get()
+                .uri("/api/v1/reactive/users/101")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(UserResponseDto.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getId()).isEqualTo(101);
+        assertThat(responseBody.getUsername()).isEqualTo("bia@email.com");
+        assertThat(responseBody.getRole()).isEqualTo("CLIENT");
+    }
+
+    @Test()
+    public void getByIdWithNonExistentIdShouldReturnErrorMessageWithStatus404() {
+        ErrorMessage responseBody = testClient
+                .get()
+                .uri("/api/v1/reactive/users/0")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getStatus()).isEqualTo(404);
+    }
+
+    @Test()
+    public void getByIdWithClientAccessingAnotherUserShouldReturnErrorMessageWithStatus403() {
+        ErrorMessage responseBody = testClient
+                .get()
+                .uri("/api/v1/reactive/users/100")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "bia@email.com", "123456"))
+                .exchange()
+                .expectStatus().isForbidden()
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getStatus()).isEqualTo(403);
+    }
+
+    @Test()
+    public void getAllWithCursorShouldStreamNextPageAsNdjson() {
+        List<UserResponseDto> responseBody = testClient
+                .get()
+                .uri("/api/v1/reactive/users?cursor=100&size=1")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(UserResponseDto.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody).extracting(UserResponseDto::getId).containsExactly(101L);
+    }
+
+    @Test()
+    public void createWithValidUsernameAndPasswordShouldReturnUserWithStatus201() {
+        UserResponseDto responseBody = testClient
+                .post()
+                .uri("/api/v1/reactive/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserCreateDto("rex@email.com", "123456"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(UserResponseDto.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getId()).isNotNull();
+        assertThat(responseBody.getUsername()).isEqualTo("rex@email.com");
+        assertThat(responseBody.getRole()).isEqualTo("CLIENT");
+
+        // the new user is visible to the reactive reads and can log in
+        testClient
+                .get()
+                .uri("/api/v1/reactive/users/" + responseBody.getId())
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "rex@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test()
+    public void createWithExistingOrInvalidUsernameShouldReturnErrorMessage() {
+        // duplicated username
+        ErrorMessage responseBody = testClient
+                .post()
+                .uri("/api/v1/reactive/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserCreateDto("ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getStatus()).isEqualTo(409);
+
+        // invalid username
+        responseBody = testClient
+                .post()
+                .uri("/api/v1/reactive/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserCreateDto("rex@email", "123456"))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY)
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getStatus()).isEqualTo(422);
+    }
+
+    @Test()
+    public void updatePasswordWithValidPasswordsShouldReturnStatus204() {
+        String etag = testClient
+                .patch()
+                .uri("/api/v1/reactive/users/101")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "bia@email.com", "123456"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserPasswordDto("123456", "654321", "654321"))
+                .exchange()
+                .expectStatus().isNoContent()
+                .returnResult(Void.class).getResponseHeaders().getETag();
+
+        // assertions: the version was bumped and the new password authenticates
+        assertThat(etag).matches("W/\"\\d+\"");
+        testClient
+                .post()
+                .uri("/api/v1/auth")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserLoginDto("bia@email.com", "654321"))
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test()
+    public void updatePasswordWithWrongPasswordOrAnotherUserShouldReturnErrorMessage() {
+        // wrong current password
+        testClient
+                .patch()
+                .uri("/api/v1/reactive/users/101")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "bia@email.com", "123456"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserPasswordDto("000000", "654321", "654321"))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        // a client updating another user
+        testClient
+                .patch()
+                .uri("/api/v1/reactive/users/100")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "bia@email.com", "123456"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserPasswordDto("123456", "654321", "654321"))
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+}
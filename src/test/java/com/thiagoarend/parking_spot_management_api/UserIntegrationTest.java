@@ -1,12 +1,18 @@
 package com.thiagoarend.parking_spot_management_api;
 
+import com.thiagoarend.parking_spot_management_api.web.dto.UserAvailabilityDto;
 import com.thiagoarend.parking_spot_management_api.web.dto.UserCreateDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.UserImportResultDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.UserLoginDto;
 import com.thiagoarend.parking_spot_management_api.web.dto.UserPasswordDto;
 import com.thiagoarend.parking_spot_management_api.web.dto.UserResponseDto;
 import com.thiagoarend.parking_spot_management_api.web.exception.ErrorMessage;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.jdbc.Sql;
@@ -24,6 +30,9 @@ public class UserIntegrationTest {
     @Autowired
     WebTestClient testClient;
 
+    @Autowired
+    CacheManager cacheManager;
+
     @Test()
     public void createWithValidUsernameAndPasswordShouldReturnUserWithStatus200() {
         // generates post request and captures response
@@ -170,6 +179,7 @@ public class UserIntegrationTest {
         UserResponseDto responseBody = testClient
                 .get()
                 .uri("/api/v1/users/100")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
                 .exchange()
                 .expectStatus().isOk()
                 .expectBody(UserResponseDto.class)
@@ -188,6 +198,7 @@ public class UserIntegrationTest {
         ErrorMessage responseBody = testClient
                 .get()
                 .uri("/api/v1/users/0")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
                 .exchange()
                 .expectStatus().isNotFound()
                 .expectBody(ErrorMessage.class)
@@ -204,6 +215,7 @@ public class UserIntegrationTest {
         testClient
                 .patch()
                 .uri("/api/v1/users/100")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
                 .contentType(MediaType.APPLICATION_JSON)
                 .bodyValue(new UserPasswordDto("123456", "123456", "123456"))
                 .exchange()
@@ -216,6 +228,7 @@ public class UserIntegrationTest {
         ErrorMessage responseBody = testClient
                 .patch()
                 .uri("/api/v1/users/0")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
                 .contentType(MediaType.APPLICATION_JSON)
                 .bodyValue(new UserPasswordDto("123456", "123456", "123456"))
                 .exchange()
@@ -234,6 +247,7 @@ public class UserIntegrationTest {
         ErrorMessage responseBody = testClient
                 .patch()
                 .uri("/api/v1/users/100")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
                 .contentType(MediaType.APPLICATION_JSON)
                 .bodyValue(new UserPasswordDto("", "", ""))
                 .exchange()
@@ -250,6 +264,7 @@ public class UserIntegrationTest {
         responseBody = testClient
                 .patch()
                 .uri("/api/v1/users/100")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
                 .contentType(MediaType.APPLICATION_JSON)
                 .bodyValue(new UserPasswordDto("12345", "12345", "12345"))
                 .exchange()
@@ -266,6 +281,7 @@ public class UserIntegrationTest {
         responseBody = testClient
                 .patch()
                 .uri("/api/v1/users/100")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
                 .contentType(MediaType.APPLICATION_JSON)
                 .bodyValue(new UserPasswordDto("1234567", "1234567", "1234567"))
                 .exchange()
@@ -285,6 +301,7 @@ public class UserIntegrationTest {
         ErrorMessage responseBody = testClient
                 .patch()
                 .uri("/api/v1/users/100")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
                 .contentType(MediaType.APPLICATION_JSON)
                 .bodyValue(new UserPasswordDto("123456", "123456", "000000"))
                 .exchange()
@@ -299,6 +316,7 @@ public class UserIntegrationTest {
         responseBody = testClient
                 .patch()
                 .uri("/api/v1/users/100")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
                 .contentType(MediaType.APPLICATION_JSON)
                 .bodyValue(new UserPasswordDto("000000", "123456", "123456"))
                 .exchange()
@@ -317,6 +335,7 @@ public class UserIntegrationTest {
         List<UserResponseDto> responseBody = testClient
                 .get()
                 .uri("/api/v1/users")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
                 .exchange()
                 .expectStatus().isOk()
                 .expectBodyList(UserResponseDto.class)
@@ -326,4 +345,414 @@ public class UserIntegrationTest {
         assertThat(responseBody).isNotNull();
         assertThat(responseBody.size()).isEqualTo(3);
     }
+
+    @Test()
+    public void getAllWithPageSizeReturnUserPageWithNextCursorAndStatus200() {
+        // generates get request for the first page
+        List<UserResponseDto> responseBody = testClient
+                .get()
+                .uri("/api/v1/users?size=2")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Next-Cursor", "101")
+                .expectBodyList(UserResponseDto.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.size()).isEqualTo(2);
+        assertThat(responseBody.get(0).getId()).isEqualTo(100);
+
+        // generates get request for the last page using the returned cursor
+        responseBody = testClient
+                .get()
+                .uri("/api/v1/users?cursor=101&size=2")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist("X-Next-Cursor")
+                .expectBodyList(UserResponseDto.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.size()).isEqualTo(1);
+        assertThat(responseBody.get(0).getId()).isEqualTo(102);
+    }
+
+    @Test()
+    public void streamAllReturnNdjsonUserLinesWithStatus200() {
+        // generates get request asking for newline-delimited json
+        String responseBody = testClient
+                .get()
+                .uri("/api/v1/users")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.lines().toList()).hasSize(3);
+        assertThat(responseBody.lines().findFirst().orElseThrow()).contains("ana@email.com");
+    }
+
+    @Test()
+    public void getByIdRepeatedShouldBeServedFromCacheAndEvictedOnPasswordUpdate() {
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache("users");
+        cache.clear();
+        long hitsBefore = cache.getNativeCache().stats().hitCount();
+
+        // generates the same get request twice; the second one must be a cache hit
+        for (int i = 0; i < 2; i++) {
+            testClient
+                    .get()
+                    .uri("/api/v1/users/101")
+                    .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                    .exchange()
+                    .expectStatus().isOk();
+        }
+
+        // assertions
+        assertThat(cache.getNativeCache().stats().hitCount() - hitsBefore).isEqualTo(1);
+        assertThat(cache.get(101L)).isNotNull();
+
+        // updating the password evicts the cached entry
+        testClient
+                .patch()
+                .uri("/api/v1/users/101")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserPasswordDto("123456", "654321", "654321"))
+                .exchange()
+                .expectStatus().isNoContent();
+
+        assertThat(cache.get(101L)).isNull();
+    }
+
+    @Test()
+    public void createBatchWithJsonArrayShouldReportEachItemWithStatus200() {
+        // generates post request with a new user, an existing user, an invalid user and a repeated user
+        List<UserImportResultDto> responseBody = testClient
+                .post()
+                .uri("/api/v1/users/batch")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(
+                        new UserCreateDto("tod@email.com", "123456"),
+                        new UserCreateDto("ana@email.com", "123456"),
+                        new UserCreateDto("tod@email", "123456"),
+                        new UserCreateDto("tod@email.com", "123456")))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(UserImportResultDto.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody).extracting(UserImportResultDto::getStatus).containsExactly(
+                UserImportResultDto.Status.CREATED,
+                UserImportResultDto.Status.CONFLICT,
+                UserImportResultDto.Status.INVALID,
+                UserImportResultDto.Status.CONFLICT);
+        assertThat(responseBody.get(0).getId()).isNotNull();
+    }
+
+    @Test()
+    public void createBatchWithNdjsonShouldCreateUsersWithStatus200() {
+        // generates post request with newline-delimited json
+        List<UserImportResultDto> responseBody = testClient
+                .post()
+                .uri("/api/v1/users/batch")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue("""
+                        {"username":"tod@email.com","password":"123456"}
+                        {"username":"tom@email.com","password":"654321"}
+                        """)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(UserImportResultDto.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody).extracting(UserImportResultDto::getStatus)
+                .containsOnly(UserImportResultDto.Status.CREATED)
+                .hasSize(2);
+        // the hashes computed in parallel are stored with their own users
+        for (UserLoginDto login : List.of(new UserLoginDto("tod@email.com", "123456"), new UserLoginDto("tom@email.com", "654321"))) {
+            testClient
+                    .post()
+                    .uri("/api/v1/auth")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(login)
+                    .exchange()
+                    .expectStatus().isOk();
+        }
+    }
+
+    @Test()
+    public void getByIdWithClientAccessingOwnUserShouldReturnUserWithStatus200() {
+        // generates get request authenticated as the client who owns the resource
+        UserResponseDto responseBody = testClient
+                .get()
+                .uri("/api/v1/users/101")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "bia@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(UserResponseDto.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getId()).isEqualTo(101);
+        assertThat(responseBody.getRole()).isEqualTo("CLIENT");
+    }
+
+    @Test()
+    public void getByIdWithClientAccessingAnotherUserShouldReturnErrorMessageWithStatus403() {
+        // generates get request authenticated as a client for another user's resource
+        ErrorMessage responseBody = testClient
+                .get()
+                .uri("/api/v1/users/100")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "bia@email.com", "123456"))
+                .exchange()
+                .expectStatus().isForbidden()
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getStatus()).isEqualTo(HttpStatus.FORBIDDEN.value());
+    }
+
+    @Test()
+    public void getAllWithClientShouldReturnErrorMessageWithStatus403() {
+        // generates get request authenticated as a client
+        ErrorMessage responseBody = testClient
+                .get()
+                .uri("/api/v1/users")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "bia@email.com", "123456"))
+                .exchange()
+                .expectStatus().isForbidden()
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getStatus()).isEqualTo(HttpStatus.FORBIDDEN.value());
+    }
+
+    @Test()
+    public void getByIdWithoutTokenShouldReturnErrorMessageWithStatus401() {
+        // generates get request without authorization header
+        ErrorMessage responseBody = testClient
+                .get()
+                .uri("/api/v1/users/100")
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getStatus()).isEqualTo(HttpStatus.UNAUTHORIZED.value());
+    }
+
+    @Test()
+    public void getAvailabilityWithoutTokenShouldReturnAvailabilityWithStatus200() {
+        // username never registered
+        UserAvailabilityDto responseBody = testClient
+                .get()
+                .uri("/api/v1/users/availability?username=new@email.com")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(UserAvailabilityDto.class)
+                .returnResult().getResponseBody();
+
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getUsername()).isEqualTo("new@email.com");
+        assertThat(responseBody.getAvailable()).isTrue();
+
+        // username registered through the api is known by the filter right away
+        testClient
+                .post()
+                .uri("/api/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserCreateDto("new@email.com", "123456"))
+                .exchange()
+                .expectStatus().isCreated();
+
+        responseBody = testClient
+                .get()
+                .uri("/api/v1/users/availability?username=new@email.com")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(UserAvailabilityDto.class)
+                .returnResult().getResponseBody();
+
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getAvailable()).isFalse();
+    }
+
+    @Test()
+    public void createWithUsernameInsertedOutsideTheApiShouldReturnStatus409AndBecomeUnavailable() {
+        // users inserted by the sql script are not in the filter; the unique index still rejects the duplicate
+        testClient
+                .post()
+                .uri("/api/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserCreateDto("bob@email.com", "123456"))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+
+        // the rejected username is added to the filter and confirmed against the database
+        UserAvailabilityDto responseBody = testClient
+                .get()
+                .uri("/api/v1/users/availability?username=bob@email.com")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(UserAvailabilityDto.class)
+                .returnResult().getResponseBody();
+
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getAvailable()).isFalse();
+
+        // second attempt is rejected before hashing the password
+        testClient
+                .post()
+                .uri("/api/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserCreateDto("bob@email.com", "123456"))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test()
+    public void getAvailabilityWithUsernameDifferingOnlyInCaseShouldReturnUnavailable() {
+        testClient
+                .post()
+                .uri("/api/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserCreateDto("new@email.com", "123456"))
+                .exchange()
+                .expectStatus().isCreated();
+
+        // usernames are compared like the database collation, ignoring case, in the filter and in the query
+        UserAvailabilityDto responseBody = testClient
+                .get()
+                .uri("/api/v1/users/availability?username=New@Email.com")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(UserAvailabilityDto.class)
+                .returnResult().getResponseBody();
+
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getAvailable()).isFalse();
+    }
+
+    @Test()
+    public void getByIdWithMatchingETagShouldReturnStatus304UntilUserChanges() {
+        // entries cached by previous tests may hold versions of rows re-inserted by the sql script
+        cacheManager.getCache("users").clear();
+
+        // first read returns the version as a weak etag, shared by every format and encoding of the user
+        String etag = testClient
+                .get()
+                .uri("/api/v1/users/100")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(UserResponseDto.class).getResponseHeaders().getETag();
+        assertThat(etag).matches("W/\"\\d+\"");
+
+        // same etag: 304 without body
+        testClient
+                .get()
+                .uri("/api/v1/users/100")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+
+        // weak comparison: the strong form of the same tag and another representation still match
+        testClient
+                .get()
+                .uri("/api/v1/users/100")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .accept(MediaType.APPLICATION_CBOR)
+                .header(HttpHeaders.IF_NONE_MATCH, etag.substring(2))
+                .exchange()
+                .expectStatus().isNotModified();
+
+        // password update bumps the version and returns the new etag
+        String newEtag = testClient
+                .patch()
+                .uri("/api/v1/users/100")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserPasswordDto("123456", "123456", "123456"))
+                .exchange()
+                .expectStatus().isNoContent()
+                .returnResult(Void.class).getResponseHeaders().getETag();
+        assertThat(newEtag).isNotEqualTo(etag);
+
+        // old etag no longer matches
+        testClient
+                .get()
+                .uri("/api/v1/users/100")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, newEtag);
+    }
+
+    @Test()
+    public void getAllWithMatchingETagShouldReturnStatus304UntilPageChanges() {
+        // first read of the page
+        String etag = testClient
+                .get()
+                .uri("/api/v1/users")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(UserResponseDto.class).getResponseHeaders().getETag();
+        assertThat(etag).isNotNull();
+
+        // unchanged page: 304 without body
+        testClient
+                .get()
+                .uri("/api/v1/users")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+
+        // a new user changes the page version
+        testClient
+                .post()
+                .uri("/api/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserCreateDto("tod@email.com", "123456"))
+                .exchange()
+                .expectStatus().isCreated();
+
+        String newEtag = testClient
+                .get()
+                .uri("/api/v1/users")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(UserResponseDto.class).getResponseHeaders().getETag();
+        assertThat(newEtag).isNotEqualTo(etag);
+    }
 }
@@ -0,0 +1,143 @@
+package com.thiagoarend.parking_spot_management_api;
+
+import com.thiagoarend.parking_spot_management_api.web.dto.ParkingSpotCreateDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.ParkingTicketCheckInDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.ParkingTicketResponseDto;
+import com.thiagoarend.parking_spot_management_api.web.dto.VehicleMatchDto;
+import com.thiagoarend.parking_spot_management_api.web.exception.ErrorMessage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// the plate index lives in memory for the whole context, so each test uses its own lot and plates
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Sql(scripts = "/sql/users/users-insert.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = {"/sql/parking-tickets/parking-tickets-delete.sql", "/sql/parking-spots/parking-spots-delete.sql",
+        "/sql/users/users-delete.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class VehicleIntegrationTest {
+
+    @Autowired
+    WebTestClient testClient;
+
+    private ParkingTicketResponseDto checkIn(String code, String plate, String lot) {
+        testClient
+                .post()
+                .uri("/api/v1/parking-spots")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ParkingSpotCreateDto(code, lot, 0))
+                .exchange()
+                .expectStatus().isCreated();
+        return testClient
+                .post()
+                .uri("/api/v1/parking-tickets/check-in")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ParkingTicketCheckInDto(plate, lot, null))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(ParkingTicketResponseDto.class)
+                .returnResult().getResponseBody();
+    }
+
+    private List<VehicleMatchDto> search(String plate) {
+        return testClient
+                .get()
+                .uri("/api/v1/vehicles/search?plate=" + plate)
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(VehicleMatchDto.class)
+                .returnResult().getResponseBody();
+    }
+
+    @Test()
+    public void getActiveTicketWithPlateInAnyFormatShouldReturnTicketWithStatus200() {
+        ParkingTicketResponseDto ticket = checkIn("VA-01", "VAA-1234", "VA");
+
+        ParkingTicketResponseDto responseBody = testClient
+                .get()
+                .uri("/api/v1/vehicles/vaa 1234/ticket")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ParkingTicketResponseDto.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getId()).isEqualTo(ticket.getId());
+        assertThat(responseBody.getSpotCode()).isEqualTo("VA-01");
+    }
+
+    @Test()
+    public void getActiveTicketAfterCheckOutShouldReturnErrorMessageWithStatus404() {
+        checkIn("VB-01", "VBB1234", "VB");
+        testClient
+                .post()
+                .uri("/api/v1/parking-tickets/check-out?plate=VBB1234")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isOk();
+
+        ErrorMessage responseBody = testClient
+                .get()
+                .uri("/api/v1/vehicles/VBB1234/ticket")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "ana@email.com", "123456"))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getStatus()).isEqualTo(404);
+    }
+
+    @Test()
+    public void searchShouldReturnExactThenPrefixThenOneEditAwayMatches() {
+        checkIn("VC-01", "VCC1234", "VC");
+        checkIn("VC-02", "VCC12345", "VC");
+        checkIn("VC-03", "VCC1284", "VC");
+
+        List<VehicleMatchDto> exact = search("VCC1234");
+        // a partial read only finds the plates starting with it
+        List<VehicleMatchDto> partial = search("vcc-12");
+        // '9' read instead of '3' or '8'
+        List<VehicleMatchDto> misread = search("VCC1294");
+        // '2' not read
+        List<VehicleMatchDto> missing = search("VCC184");
+
+        // assertions
+        assertThat(exact).extracting(VehicleMatchDto::getPlate).containsExactly("VCC1234", "VCC12345", "VCC1284");
+        assertThat(exact).extracting(VehicleMatchDto::getMatch).containsExactly("EXACT", "PREFIX", "FUZZY");
+        assertThat(partial).extracting(VehicleMatchDto::getPlate).containsExactlyInAnyOrder("VCC1234", "VCC12345", "VCC1284");
+        assertThat(partial).extracting(VehicleMatchDto::getMatch).containsOnly("PREFIX");
+        assertThat(misread).extracting(VehicleMatchDto::getPlate).containsExactlyInAnyOrder("VCC1234", "VCC1284");
+        assertThat(misread).extracting(VehicleMatchDto::getMatch).containsOnly("FUZZY");
+        assertThat(missing).extracting(VehicleMatchDto::getPlate).containsExactly("VCC1284");
+    }
+
+    @Test()
+    public void searchWithClientShouldReturnErrorMessageWithStatus403() {
+        ErrorMessage responseBody = testClient
+                .get()
+                .uri("/api/v1/vehicles/search?plate=VDD")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "bia@email.com", "123456"))
+                .exchange()
+                .expectStatus().isForbidden()
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        // assertions
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getStatus()).isEqualTo(403);
+    }
+}
@@ -0,0 +1 @@
+DELETE FROM parking_spots;
\ No newline at end of file
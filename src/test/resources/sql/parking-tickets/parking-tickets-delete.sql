@@ -0,0 +1,2 @@
+DELETE FROM parking_tickets;
+DELETE FROM parking_ticket_rollups;
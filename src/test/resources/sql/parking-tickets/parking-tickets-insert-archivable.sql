@@ -0,0 +1,5 @@
+INSERT INTO parking_tickets (id, plate, lot, spot_level, spot_code, entry_date, exit_date, status, fee, fee_role) VALUES ('a0000000-0000-0000-0000-000000000001', 'XAA0001', 'XA', 0, 'XA-01', '2020-01-10 08:00:00', '2020-01-10 10:00:00', 'CLOSED', 20.00, 'ROLE_ADMIN');
+INSERT INTO parking_tickets (id, plate, lot, spot_level, spot_code, entry_date, exit_date, status, fee) VALUES ('a0000000-0000-0000-0000-000000000002', 'XAA0002', 'XA', 0, 'XA-02', '2020-01-31 23:00:00', '2020-02-01 05:30:00', 'CLOSED', 30.00);
+INSERT INTO parking_tickets (id, plate, lot, spot_level, spot_code, entry_date, exit_date, status, fee) VALUES ('a0000000-0000-0000-0000-000000000003', 'XAA0001', 'XA', 0, 'XA-01', '2020-02-15 09:00:00', '2020-02-15 09:30:00', 'CLOSED', 10.00);
+INSERT INTO parking_tickets (id, plate, lot, spot_level, spot_code, entry_date, exit_date, status, fee) VALUES ('a0000000-0000-0000-0000-000000000004', 'XAA0003', 'XA', 0, 'XA-03', '2020-03-01 12:00:00', NULL, 'OPEN', NULL);
+INSERT INTO parking_tickets (id, plate, lot, spot_level, spot_code, entry_date, exit_date, status, fee) VALUES ('a0000000-0000-0000-0000-000000000005', 'XAA0004', 'XA', 0, 'XA-04', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 'CLOSED', 10.00);
@@ -0,0 +1,100 @@
+INSERT INTO users (id, username, password, role, version) VALUES (200, 'user200@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (201, 'user201@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (202, 'user202@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (203, 'user203@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (204, 'user204@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (205, 'user205@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (206, 'user206@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (207, 'user207@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (208, 'user208@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (209, 'user209@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (210, 'user210@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (211, 'user211@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (212, 'user212@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (213, 'user213@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (214, 'user214@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (215, 'user215@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (216, 'user216@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (217, 'user217@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (218, 'user218@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (219, 'user219@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (220, 'user220@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (221, 'user221@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (222, 'user222@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (223, 'user223@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (224, 'user224@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (225, 'user225@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (226, 'user226@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (227, 'user227@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (228, 'user228@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (229, 'user229@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (230, 'user230@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (231, 'user231@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (232, 'user232@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (233, 'user233@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (234, 'user234@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (235, 'user235@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (236, 'user236@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (237, 'user237@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (238, 'user238@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (239, 'user239@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (240, 'user240@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (241, 'user241@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (242, 'user242@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (243, 'user243@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (244, 'user244@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (245, 'user245@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (246, 'user246@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (247, 'user247@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (248, 'user248@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (249, 'user249@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (250, 'user250@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (251, 'user251@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (252, 'user252@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (253, 'user253@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (254, 'user254@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (255, 'user255@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (256, 'user256@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (257, 'user257@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (258, 'user258@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (259, 'user259@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (260, 'user260@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (261, 'user261@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (262, 'user262@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (263, 'user263@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (264, 'user264@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (265, 'user265@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (266, 'user266@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (267, 'user267@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (268, 'user268@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (269, 'user269@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (270, 'user270@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (271, 'user271@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (272, 'user272@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (273, 'user273@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (274, 'user274@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (275, 'user275@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (276, 'user276@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (277, 'user277@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (278, 'user278@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (279, 'user279@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (280, 'user280@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (281, 'user281@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (282, 'user282@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (283, 'user283@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (284, 'user284@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (285, 'user285@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (286, 'user286@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (287, 'user287@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (288, 'user288@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (289, 'user289@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (290, 'user290@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (291, 'user291@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (292, 'user292@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (293, 'user293@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (294, 'user294@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (295, 'user295@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (296, 'user296@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (297, 'user297@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (298, 'user298@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (299, 'user299@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
@@ -1,3 +1,3 @@
-INSERT INTO users (id, username, password, role) VALUES (100, 'ana@email.com', '123456', 'ROLE_ADMIN');
-INSERT INTO users (id, username, password, role) VALUES (101, 'bia@email.com', '123456', 'ROLE_CLIENT');
-INSERT INTO users (id, username, password, role) VALUES (102, 'bob@email.com', '123456', 'ROLE_CLIENT');
\ No newline at end of file
+INSERT INTO users (id, username, password, role, version) VALUES (100, 'ana@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_ADMIN', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (101, 'bia@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
+INSERT INTO users (id, username, password, role, version) VALUES (102, 'bob@email.com', '$2a$10$wHtm8b4SxunTDSmqO/anPOMcNzijCKH7TcAn/bBmeGyKOJHw8ohPu', 'ROLE_CLIENT', 0);
\ No newline at end of file